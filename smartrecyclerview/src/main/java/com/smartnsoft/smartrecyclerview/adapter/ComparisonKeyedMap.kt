@@ -0,0 +1,93 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.adapter
+
+import com.smartnsoft.smartrecyclerview.adapter.SmartRecyclerAdapter.ComparisonType
+import com.smartnsoft.smartrecyclerview.collection.LongIntHashMap
+import java.util.*
+
+/**
+ * A map from primitive `int` values keyed by a business object identifier, combined with the business object type
+ * and/or the wrapper type depending on the [ComparisonType] it has been created with.
+ *
+ * The identifiers are never boxed: the types select a [LongIntHashMap], which is then looked up by identifier.
+ *
+ * @since 2026.10.18
+ */
+internal class ComparisonKeyedMap(val comparisonType: ComparisonType) {
+
+    private val untypedMap = LongIntHashMap()
+
+    private val mapsByType = HashMap<Class<*>?, LongIntHashMap>()
+
+    private val mapsByWrapperAndBusinessObjectType = HashMap<Class<*>?, HashMap<Class<*>?, LongIntHashMap>>()
+
+    /**
+     * @return the value associated with the given key, or `defaultValue` if there is none
+     */
+    fun get(businessObjectID: Long, businessObjectType: Class<*>?, wrapperType: Class<*>?, defaultValue: Int): Int =
+            mapFor(businessObjectType, wrapperType, false)?.get(businessObjectID, defaultValue) ?: defaultValue
+
+    fun put(businessObjectID: Long, businessObjectType: Class<*>?, wrapperType: Class<*>?, value: Int): Int =
+            mapFor(businessObjectType, wrapperType, true)!!.put(businessObjectID, value)
+
+    fun putIfAbsent(businessObjectID: Long, businessObjectType: Class<*>?, wrapperType: Class<*>?, value: Int): Boolean =
+            mapFor(businessObjectType, wrapperType, true)!!.putIfAbsent(businessObjectID, value)
+
+    fun increment(businessObjectID: Long, businessObjectType: Class<*>?, wrapperType: Class<*>?, delta: Int): Int =
+            mapFor(businessObjectType, wrapperType, true)!!.increment(businessObjectID, delta)
+
+    fun remove(businessObjectID: Long, businessObjectType: Class<*>?, wrapperType: Class<*>?): Int =
+            mapFor(businessObjectType, wrapperType, false)?.remove(businessObjectID) ?: LongIntHashMap.NO_VALUE
+
+    fun clear() {
+        untypedMap.clear()
+        mapsByType.clear()
+        mapsByWrapperAndBusinessObjectType.clear()
+    }
+
+    private fun mapFor(businessObjectType: Class<*>?, wrapperType: Class<*>?, create: Boolean): LongIntHashMap? {
+        return when (comparisonType) {
+            ComparisonType.CLASSIC -> untypedMap
+            ComparisonType.BUSINESS_OBJECT_TYPE -> mapFor(mapsByType, businessObjectType, create)
+            ComparisonType.WRAPPER_TYPE -> mapFor(mapsByType, wrapperType, create)
+            ComparisonType.BUSINESS_OBJECT_AND_WRAPPER_TYPE -> {
+                val mapsByBusinessObjectType = mapsByWrapperAndBusinessObjectType[wrapperType]
+                        ?: if (create) {
+                            HashMap<Class<*>?, LongIntHashMap>().also { mapsByWrapperAndBusinessObjectType[wrapperType] = it }
+                        } else {
+                            return null
+                        }
+                mapFor(mapsByBusinessObjectType, businessObjectType, create)
+            }
+        }
+    }
+
+    private fun mapFor(maps: HashMap<Class<*>?, LongIntHashMap>, type: Class<*>?, create: Boolean): LongIntHashMap? {
+        return maps[type] ?: if (create) {
+            LongIntHashMap().also { maps[type] = it }
+        } else {
+            null
+        }
+    }
+
+}
@@ -22,10 +22,17 @@
 package com.smartnsoft.smartrecyclerview.adapter
 
 import android.content.Context
+import android.os.Handler
+import android.os.Looper
+import androidx.annotation.UiThread
 import androidx.recyclerview.widget.DiffUtil
 import com.smartnsoft.smartrecyclerview.attributes.SmartRecyclerAttributes
+import com.smartnsoft.smartrecyclerview.wrapper.SmartChangedFields
 import com.smartnsoft.smartrecyclerview.wrapper.SmartDiffUtil
+import com.smartnsoft.smartrecyclerview.wrapper.SmartFieldDiffUtil
 import com.smartnsoft.smartrecyclerview.wrapper.SmartRecyclerViewWrapper
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
 
 /**
  * A [SmartRecyclerAdapter] adapter, which works closely with the
@@ -39,35 +46,183 @@ import com.smartnsoft.smartrecyclerview.wrapper.SmartRecyclerViewWrapper
 @Suppress("MemberVisibilityCanBePrivate")
 abstract class DiffUtilSmartRecyclerAdapter(context: Context) : SmartRecyclerAdapter(context) {
 
+    /**
+     * Diff algorithms that can be used:
+     *  * [.MYERS]
+     *  * [.ID_HASHING]
+     *  * [.PARALLEL_ID_HASHING]
+     */
+    enum class DiffStrategy {
+        /**
+         * The Myers algorithm of [DiffUtil], whose cost grows with the edit distance
+         */
+        MYERS,
+        /**
+         * Matches the items by hashing their identifiers, in a time which does not depend on the edit distance.
+         * It requires the identifiers of the current wrappers to be unique, and each current wrapper to match at most one
+         * new wrapper, and falls back to [MYERS] otherwise. New wrappers sharing an identifier which matches no current
+         * wrapper are all inserted.
+         * Items are considered the same when they have the same identifier, whatever [SmartDiffUtilCallback.areItemsTheSame] returns.
+         */
+        ID_HASHING,
+        /**
+         * Works like [ID_HASHING], the identifiers and hashcodes of the wrappers being read, matched and compared in
+         * parallel across the cores when the lists hold more than 10,000 items.
+         * The [SmartRecyclerViewWrapper.getId] method, the [SmartDiffUtil.diffUtilHashCode] property and
+         * [SmartDiffUtilCallback.areContentsTheSame] must therefore be thread-safe.
+         */
+        PARALLEL_ID_HASHING
+    }
+
+    /**
+     * Interface definition for a callback to be invoked when the wrappers submitted through
+     * [DiffUtilSmartRecyclerAdapter.setWrappersForDiffUtilAsync] have been applied to the adapter.
+     */
+    interface OnWrappersAppliedListener {
+        /**
+         * Callback method invoked on the UI thread, once the diff has been dispatched to the adapter.
+         * It is not invoked when the submission has been superseded by a newer one.
+         *
+         * @param newWrappers The wrappers now held by the adapter
+         */
+        fun onWrappersApplied(newWrappers: List<SmartRecyclerViewWrapper<*>>)
+    }
+
+    /**
+     * The executor on which the diffs submitted through [setWrappersForDiffUtilAsync] are computed.
+     * By default, a single background thread shared by all the adapters.
+     */
+    var diffExecutor: Executor = defaultDiffExecutor
+
+    /**
+     * The algorithm used by [setWrappersForDiffUtil] and [setWrappersForDiffUtilAsync].
+     */
+    var diffStrategy: DiffStrategy = DiffStrategy.MYERS
+
+    private val mainThreadHandler = Handler(Looper.getMainLooper())
+
+    /**
+     * Incremented on every submission, so that the result of a diff which has been superseded is discarded.
+     */
+    private var diffGeneration = 0
+
+    /**
+     * The [DiffUtil.Callback] used by the [DiffUtilSmartRecyclerAdapter].
+     *
+     * The identifiers and the [SmartDiffUtil.diffUtilHashCode] of the old and new wrappers are read once, on the first
+     * comparison, and every comparison is then answered from those snapshots.
+     */
     abstract class SmartDiffUtilCallback(
-            protected var oldWrappers: List<SmartRecyclerViewWrapper<*>>?,
-            protected var newWrappers: List<SmartRecyclerViewWrapper<*>>?)
+            oldWrappers: List<SmartRecyclerViewWrapper<*>>?,
+            newWrappers: List<SmartRecyclerViewWrapper<*>>?)
         : DiffUtil.Callback() {
+
+        /**
+         * The identifiers and content hashcodes of a list of wrappers.
+         * Disjoint ranges may be read concurrently.
+         */
+        internal class WrappersSnapshot(private val wrappers: List<SmartRecyclerViewWrapper<*>>?) {
+
+            val size: Int = wrappers?.size ?: 0
+
+            val ids = LongArray(size)
+
+            val diffUtilHashCodes = LongArray(size)
+
+            private val isNotSmartDiffUtil = BooleanArray(size)
+
+            /**
+             * Reads the wrappers from `fromIndex` included to `toIndex` excluded.
+             */
+            fun read(fromIndex: Int, toIndex: Int): WrappersSnapshot {
+                wrappers?.also {
+                    for (index in fromIndex until toIndex) {
+                        val wrapper = it[index]
+                        ids[index] = wrapper.getId()
+                        if (wrapper is SmartDiffUtil) {
+                            diffUtilHashCodes[index] = wrapper.diffUtilHashCode
+                        } else {
+                            isNotSmartDiffUtil[index] = true
+                        }
+                    }
+                }
+                return this
+            }
+
+            fun isSmartDiffUtil(position: Int): Boolean =
+                    isNotSmartDiffUtil[position].not()
+
+        }
+
+        protected var oldWrappers: List<SmartRecyclerViewWrapper<*>>? = oldWrappers
+            set(value) {
+                field = value
+                oldSnapshot = null
+            }
+
+        protected var newWrappers: List<SmartRecyclerViewWrapper<*>>? = newWrappers
+            set(value) {
+                field = value
+                newSnapshot = null
+            }
+
+        private var oldSnapshot: WrappersSnapshot? = null
+
+        private var newSnapshot: WrappersSnapshot? = null
+
+        internal val oldWrappersSnapshot: WrappersSnapshot
+            get() = oldSnapshot ?: WrappersSnapshot(oldWrappers).also { oldSnapshot = it.read(0, it.size) }
+
+        internal val newWrappersSnapshot: WrappersSnapshot
+            get() = newSnapshot ?: WrappersSnapshot(newWrappers).also { newSnapshot = it.read(0, it.size) }
+
+        /**
+         * Reads the old and new wrappers by chunks, in parallel.
+         * The [SmartRecyclerViewWrapper.getId] method and the [SmartDiffUtil.diffUtilHashCode] property of the
+         * wrappers are therefore called from several threads.
+         */
+        internal fun readSnapshotsInParallel(parallelDiff: SmartParallelDiff) {
+            val oldSnapshot = oldSnapshot ?: WrappersSnapshot(oldWrappers)
+            val newSnapshot = newSnapshot ?: WrappersSnapshot(newWrappers)
+            if (oldSnapshot !== this.oldSnapshot || newSnapshot !== this.newSnapshot) {
+                val chunkSize = Math.max(1, (oldSnapshot.size + newSnapshot.size + parallelDiff.parallelism - 1) / parallelDiff.parallelism)
+                val oldChunkCount = if (oldSnapshot !== this.oldSnapshot) (oldSnapshot.size + chunkSize - 1) / chunkSize else 0
+                val newChunkCount = if (newSnapshot !== this.newSnapshot) (newSnapshot.size + chunkSize - 1) / chunkSize else 0
+                parallelDiff.run(oldChunkCount + newChunkCount) { chunk ->
+                    val snapshot = if (chunk < oldChunkCount) oldSnapshot else newSnapshot
+                    val fromIndex = (if (chunk < oldChunkCount) chunk else chunk - oldChunkCount) * chunkSize
+                    snapshot.read(fromIndex, Math.min(fromIndex + chunkSize, snapshot.size))
+                }
+                this.oldSnapshot = oldSnapshot
+                this.newSnapshot = newSnapshot
+            }
+        }
+
         override fun getOldListSize(): Int = oldWrappers?.size ?: 0
 
         override fun getNewListSize(): Int = newWrappers?.size ?: 0
 
-        override fun areItemsTheSame(oldItemPosition: Int, newItemPosition: Int): Boolean {
-            val oldSmartRecyclerViewWrapper = oldWrappers?.getOrNull(oldItemPosition)
-            val newSmartRecyclerViewWrapper = newWrappers?.getOrNull(newItemPosition)
-            return oldSmartRecyclerViewWrapper?.getId() == newSmartRecyclerViewWrapper?.getId()
-        }
+        override fun areItemsTheSame(oldItemPosition: Int, newItemPosition: Int): Boolean =
+                oldWrappersSnapshot.ids[oldItemPosition] == newWrappersSnapshot.ids[newItemPosition]
 
         override fun areContentsTheSame(oldItemPosition: Int, newItemPosition: Int): Boolean {
-            val oldSmartRecyclerViewWrapper = oldWrappers?.getOrNull(oldItemPosition)
-            val newSmartRecyclerViewWrapper = newWrappers?.getOrNull(newItemPosition)
-
-            require((oldSmartRecyclerViewWrapper is SmartDiffUtil && newSmartRecyclerViewWrapper is SmartDiffUtil)) {
+            val oldSnapshot = oldWrappersSnapshot
+            val newSnapshot = newWrappersSnapshot
+            require(oldSnapshot.isSmartDiffUtil(oldItemPosition) && newSnapshot.isSmartDiffUtil(newItemPosition)) {
                 "Wrappers have to implement the IDiffUtil interface"
             }
-            return (oldSmartRecyclerViewWrapper as SmartDiffUtil).diffUtilHashCode == (newSmartRecyclerViewWrapper as SmartDiffUtil).diffUtilHashCode
+            return oldSnapshot.diffUtilHashCodes[oldItemPosition] == newSnapshot.diffUtilHashCodes[newItemPosition]
         }
 
+        /**
+         * Returns the payload given by [getChangePayloadCustom], or a [SmartChangedFields] payload when both wrappers
+         * implement [SmartFieldDiffUtil], or [ITEM_CHANGED_PAYLOAD] otherwise.
+         */
         override fun getChangePayload(oldItemPosition: Int, newItemPosition: Int): Any? {
-            val oldBusinessObject = oldWrappers?.getOrNull(oldItemPosition)?.businessObject
-            val newBusinessObject = newWrappers?.getOrNull(newItemPosition)?.businessObject
-            val result = getChangePayloadCustom(oldItemPosition, newItemPosition, oldBusinessObject, newBusinessObject)
-            return result ?: ITEM_CHANGED_PAYLOAD
+            val oldWrapper = oldWrappers?.getOrNull(oldItemPosition)
+            val newWrapper = newWrappers?.getOrNull(newItemPosition)
+            val result = getChangePayloadCustom(oldItemPosition, newItemPosition, oldWrapper?.businessObject, newWrapper?.businessObject)
+            return result ?: SmartChangedFields.between(oldWrapper, newWrapper) ?: ITEM_CHANGED_PAYLOAD
         }
 
         /**
@@ -100,15 +255,29 @@ abstract class DiffUtilSmartRecyclerAdapter(context: Context) : SmartRecyclerAda
         throw UnsupportedOperationException("Use the setWrappersForDiffUtil() method instead")
     }
 
+    /**
+     * The payloads accumulated for an item are first merged, the [SmartChangedFields] being combined into one, and each
+     * distinct payload being handed over once, in order, to
+     * [onBindViewHolderCustom]. The payloads it does not handle are then handed over together to
+     * [SmartRecyclerAttributes.onBusinessObjectPartiallyUpdated], and the item is fully bound at most once, only when
+     * some of them remain unhandled.
+     */
     override fun onBindViewHolder(holder: SmartRecyclerAttributes<*>, position: Int, payloads: List<Any>) {
-        if (payloads.isNotEmpty()) {
-            for (payload in payloads) {
-                if (onBindViewHolderCustom(holder, position, payload).not()) {
-                    onBindViewHolder(holder, position)
-                }
-            }
-        } else {
+        if (payloads.isEmpty()) {
             onBindViewHolder(holder, position)
+            return
+        }
+        val mergedPayloads = SmartChangedFields.merge(payloads)
+        var unhandledPayloads: MutableList<Any>? = null
+        for ((index, payload) in mergedPayloads.withIndex()) {
+            if (isFirstOccurrence(mergedPayloads, index) && onBindViewHolderCustom(holder, position, payload).not()) {
+                (unhandledPayloads ?: ArrayList<Any>(mergedPayloads.size - index).also { unhandledPayloads = it }).add(payload)
+            }
+        }
+        unhandledPayloads?.also { remainingPayloads ->
+            if (bindWrapperPartially(holder, wrappers[position], isItemSelected(position), remainingPayloads).not()) {
+                onBindViewHolder(holder, position)
+            }
         }
     }
 
@@ -138,12 +307,109 @@ abstract class DiffUtilSmartRecyclerAdapter(context: Context) : SmartRecyclerAda
      * @param newWrappers the new wrappers
      */
     fun setWrappersForDiffUtil(newWrappers: List<SmartRecyclerViewWrapper<*>>) {
-        val diffCallback = getDiffUtilCallback<SmartDiffUtilCallback>(wrappers, newWrappers)
-        val diffResult = DiffUtil.calculateDiff(diffCallback, isDetectMoves)
-        super.setNewWrapperList(newWrappers)
-        diffResult.dispatchUpdatesTo(this)
+        diffGeneration++
+        if (deferWhileReordering { setWrappersForDiffUtil(newWrappers) }) {
+            return
+        }
+        // The old wrappers are copied, as the callback still reads them while the diff is dispatched, i.e. once the
+        // wrappers of the adapter have been replaced
+        val oldWrappers = ArrayList(wrappers)
+        val reconciledWrappers = reconcileWrappers(oldWrappers, newWrappers)
+        val diffCallback = getDiffUtilCallback<SmartDiffUtilCallback>(oldWrappers, reconciledWrappers)
+        val diffResult = SmartDiffCalculator.calculateDiff(diffCallback, isDetectMoves, diffStrategy)
+        replaceWrappers(reconciledWrappers)
+        diffResult.dispatchUpdatesTo(listUpdateCallback)
+    }
+
+    /**
+     * Works like [setWrappersForDiffUtil], except that the diff is computed on the [diffExecutor] against a snapshot of
+     * the current wrappers, then dispatched on the UI thread.
+     * If another list is submitted before the diff is dispatched, the result of this one is discarded.
+     * If the wrappers of the adapter are modified by other means in the meantime, the diff is computed again.
+     * While a reorder is in progress, both the submission and the dispatch of a diff already computed are deferred until
+     * the reorder ends.
+     * It MUST be used on the UI thread.
+     *
+     * @param newWrappers the new wrappers
+     * @param listener    an optional callback invoked once the new wrappers have been applied
+     */
+    @UiThread
+    @JvmOverloads
+    fun setWrappersForDiffUtilAsync(newWrappers: List<SmartRecyclerViewWrapper<*>>, listener: OnWrappersAppliedListener? = null) {
+        val generation = ++diffGeneration
+        if (deferWhileReordering { submitDiffIfCurrent(generation, newWrappers, listener) }) {
+            return
+        }
+        val oldWrappersSnapshot = ArrayList(wrappers)
+        val newWrappersSnapshot = ArrayList(reconcileWrappers(oldWrappersSnapshot, newWrappers))
+        val diffCallback = getDiffUtilCallback<SmartDiffUtilCallback>(oldWrappersSnapshot, newWrappersSnapshot)
+        val detectMoves = isDetectMoves
+        val strategy = diffStrategy
+        diffExecutor.execute {
+            val diffResult = SmartDiffCalculator.calculateDiff(diffCallback, detectMoves, strategy)
+            mainThreadHandler.post {
+                applyDiffIfCurrent(generation, oldWrappersSnapshot, newWrappersSnapshot, diffResult, listener)
+            }
+        }
+    }
+
+    private fun submitDiffIfCurrent(generation: Int, newWrappers: List<SmartRecyclerViewWrapper<*>>, listener: OnWrappersAppliedListener?) {
+        if (generation == diffGeneration) {
+            setWrappersForDiffUtilAsync(newWrappers, listener)
+        }
+    }
+
+    private fun applyDiffIfCurrent(generation: Int, oldWrappersSnapshot: List<SmartRecyclerViewWrapper<*>>,
+                                   newWrappersSnapshot: List<SmartRecyclerViewWrapper<*>>, diffResult: SmartDiffCalculator.DiffResult,
+                                   listener: OnWrappersAppliedListener?) {
+        if (generation != diffGeneration) {
+            return
+        }
+        if (deferWhileReordering { applyDiffIfCurrent(generation, oldWrappersSnapshot, newWrappersSnapshot, diffResult, listener) }) {
+            return
+        }
+        if (isSameList(wrappers, oldWrappersSnapshot)) {
+            replaceWrappers(newWrappersSnapshot)
+            diffResult.dispatchUpdatesTo(listUpdateCallback)
+            listener?.onWrappersApplied(newWrappersSnapshot)
+        } else {
+            setWrappersForDiffUtilAsync(newWrappersSnapshot, listener)
+        }
     }
 
     protected val isDetectMoves: Boolean
         get() = true
+
+    companion object {
+
+        /**
+         * @return true if the payload at the given index does not appear earlier in the list
+         */
+        private fun isFirstOccurrence(payloads: List<Any>, index: Int): Boolean {
+            val payload = payloads[index]
+            for (previousIndex in 0 until index) {
+                if (payloads[previousIndex] == payload) {
+                    return false
+                }
+            }
+            return true
+        }
+
+        private val defaultDiffExecutor: Executor by lazy {
+            Executors.newSingleThreadExecutor { runnable -> Thread(runnable, "SmartRecyclerView-diff") }
+        }
+
+        private fun isSameList(wrappers: List<SmartRecyclerViewWrapper<*>>, otherWrappers: List<SmartRecyclerViewWrapper<*>>): Boolean {
+            if (wrappers.size != otherWrappers.size) {
+                return false
+            }
+            for (index in wrappers.indices) {
+                if (wrappers[index] !== otherWrappers[index]) {
+                    return false
+                }
+            }
+            return true
+        }
+
+    }
 }
\ No newline at end of file
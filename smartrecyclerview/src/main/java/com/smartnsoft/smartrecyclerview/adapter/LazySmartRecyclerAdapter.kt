@@ -0,0 +1,177 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.adapter
+
+import android.content.Context
+import android.util.SparseArray
+import androidx.annotation.UiThread
+import com.smartnsoft.smartrecyclerview.wrapper.SmartRecyclerViewWrapper
+
+/**
+ * A [SmartRecyclerAdapter] which displays a plain list of items, and only creates the wrapper of an item when the
+ * adapter needs it, i.e. when its view type is requested or when it is bound.
+ *
+ * The wrapper of an item is created by the [WrapperFactory] registered for the view type given by the
+ * [ViewTypeResolver]. The most recently created wrappers are cached in a ring of [cacheSize] entries, indexed by
+ * position, which should be larger than the number of items visible at once.
+ *
+ * The wrappers of this adapter are read-only: the methods which modify them throw an [UnsupportedOperationException],
+ * and [setItems] must be used instead. The lookups by identifier, like [getItemPosition], create every wrapper, and
+ * should be avoided on large lists.
+ *
+ * @param viewTypeResolver The resolver of the view type of the items
+ * @param cacheSize        The number of wrappers kept in the cache
+ *
+ * @since 2026.10.18
+ */
+@Suppress("unused", "MemberVisibilityCanBePrivate")
+open class LazySmartRecyclerAdapter<T>
+@JvmOverloads constructor(
+        context: Context,
+        private val viewTypeResolver: ViewTypeResolver<T>,
+        val cacheSize: Int = DEFAULT_CACHE_SIZE
+) : SmartRecyclerAdapter(context) {
+
+    /**
+     * Indicates which [WrapperFactory] creates the wrapper of an item.
+     */
+    interface ViewTypeResolver<T> {
+
+        /**
+         * @param item The item
+         * @return the view type of the item, as registered with [LazySmartRecyclerAdapter.registerWrapperFactory]
+         */
+        fun getViewType(item: T): Int
+    }
+
+    /**
+     * Creates the wrappers of the items of a given view type.
+     */
+    interface WrapperFactory<T> {
+
+        /**
+         * @param item The item
+         * @return a new wrapper for the item
+         */
+        fun createWrapper(item: T): SmartRecyclerViewWrapper<*>
+    }
+
+    /**
+     * The wrappers exposed to the [SmartRecyclerAdapter], created on demand from the items.
+     */
+    private inner class LazyWrappers : AbstractMutableList<SmartRecyclerViewWrapper<*>>() {
+
+        override val size: Int
+            get() = items.size
+
+        override fun get(index: Int): SmartRecyclerViewWrapper<*> {
+            val slot = index % cacheSize
+            return cachedWrappers[slot]?.takeIf { cachedPositions[slot] == index }
+                    ?: createWrapper(items[index]).also { wrapper ->
+                        cachedPositions[slot] = index
+                        cachedWrappers[slot] = wrapper
+                    }
+        }
+
+        override fun add(index: Int, element: SmartRecyclerViewWrapper<*>) =
+                throw UnsupportedOperationException("The wrappers of a LazySmartRecyclerAdapter are created from its items")
+
+        override fun removeAt(index: Int): SmartRecyclerViewWrapper<*> =
+                throw UnsupportedOperationException("The wrappers of a LazySmartRecyclerAdapter are created from its items")
+
+        override fun set(index: Int, element: SmartRecyclerViewWrapper<*>): SmartRecyclerViewWrapper<*> =
+                throw UnsupportedOperationException("The wrappers of a LazySmartRecyclerAdapter are created from its items")
+
+    }
+
+    private val wrapperFactories = SparseArray<WrapperFactory<T>>()
+
+    private var items: List<T> = emptyList()
+
+    private val cachedPositions: IntArray
+
+    private val cachedWrappers: Array<SmartRecyclerViewWrapper<*>?>
+
+    init {
+        require(cacheSize > 0) { "The cache size must be positive" }
+        cachedPositions = IntArray(cacheSize) { -1 }
+        cachedWrappers = arrayOfNulls(cacheSize)
+        wrappers = LazyWrappers()
+    }
+
+    override fun setNewWrapperList(wrappers: List<SmartRecyclerViewWrapper<*>>) {
+        throw UnsupportedOperationException("Use the setItems() method instead")
+    }
+
+    override var wrapperStorage: SmartWrapperStorage
+        get() = super.wrapperStorage
+        set(value) {
+            throw UnsupportedOperationException("The wrappers of a LazySmartRecyclerAdapter are created from its items")
+        }
+
+    /**
+     * Registers the factory of the wrappers of a view type. It must be done before the items of this view type are
+     * displayed.
+     *
+     * @param viewType The view type, as returned by the [ViewTypeResolver]
+     * @param factory  The factory of the wrappers of this view type
+     */
+    fun registerWrapperFactory(viewType: Int, factory: WrapperFactory<T>) {
+        wrapperFactories.put(viewType, factory)
+    }
+
+    /**
+     * Replaces the items displayed by the adapter, and notifies the change.
+     * The given list is copied, so that its later modifications are not seen by the adapter.
+     * It MUST be used on the UI thread.
+     *
+     * @param items The new items
+     */
+    @UiThread
+    fun setItems(items: List<T>) {
+        this.items = ArrayList(items)
+        cachedPositions.fill(-1)
+        cachedWrappers.fill(null)
+        invalidateWrappersIndex()
+        notifyWrappersChanged()
+    }
+
+    /**
+     * @param position The position of the item
+     * @return the item at the given position
+     */
+    fun getItem(position: Int): T = items[position]
+
+    private fun createWrapper(item: T): SmartRecyclerViewWrapper<*> {
+        val viewType = viewTypeResolver.getViewType(item)
+        val factory = wrapperFactories[viewType]
+                ?: throw IllegalStateException("No wrapper factory is registered for the view type $viewType")
+        return factory.createWrapper(item)
+    }
+
+    companion object {
+
+        const val DEFAULT_CACHE_SIZE = 64
+
+    }
+
+}
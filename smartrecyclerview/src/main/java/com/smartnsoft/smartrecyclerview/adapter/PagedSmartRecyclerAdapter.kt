@@ -0,0 +1,381 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.adapter
+
+import android.content.Context
+import android.os.Handler
+import android.os.Looper
+import android.util.SparseArray
+import android.util.SparseBooleanArray
+import androidx.annotation.UiThread
+import androidx.annotation.WorkerThread
+import com.smartnsoft.smartrecyclerview.attributes.SmartRecyclerAttributes
+import com.smartnsoft.smartrecyclerview.wrapper.SmartRecyclerViewWrapper
+import com.smartnsoft.smartrecyclerview.wrapper.SmartSectionHeader
+import java.util.Arrays
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+
+/**
+ * A [SmartRecyclerAdapter] which does not hold all its wrappers in memory, but loads them by pages through a
+ * [PageLoader].
+ *
+ * Only a bounded number of pages are kept resident: when a wrapper is bound, the pages around it are loaded in the
+ * background, and the least recently bound pages are evicted once [maximumResidentPageCount] is exceeded, except the
+ * page just loaded and the pages prefetched around the last bound wrapper.
+ * The positions whose page is not loaded are represented by the placeholder wrappers of the [PageLoader].
+ *
+ * The wrappers of this adapter are read-only: the methods which modify them throw an [UnsupportedOperationException],
+ * and [refresh] must be used instead. The lookups by identifier, like [getItemPosition], and the sections only
+ * consider the resident pages, each page indexing its own wrappers on its first lookup, so that neither the
+ * placeholders nor the number of items are ever indexed.
+ *
+ * @param pageLoader               The loader of the pages
+ * @param pageSize                 The number of wrappers per page
+ * @param prefetchPageCount        The number of pages loaded before and after the page of a bound wrapper
+ * @param maximumResidentPageCount The maximum number of pages kept in memory, at least `2 * prefetchPageCount + 2`, so
+ *                                 that the pages prefetched around a bound wrapper are never evicted
+ *
+ * @since 2026.10.18
+ */
+@Suppress("unused", "MemberVisibilityCanBePrivate")
+open class PagedSmartRecyclerAdapter
+@JvmOverloads constructor(
+        context: Context,
+        private val pageLoader: PageLoader,
+        val pageSize: Int = DEFAULT_PAGE_SIZE,
+        val prefetchPageCount: Int = DEFAULT_PREFETCH_PAGE_COUNT,
+        val maximumResidentPageCount: Int = DEFAULT_MAXIMUM_RESIDENT_PAGE_COUNT
+) : SmartRecyclerAdapter(context) {
+
+    /**
+     * Provides the wrappers of a [PagedSmartRecyclerAdapter].
+     */
+    interface PageLoader {
+
+        /**
+         * Called on the UI thread by [PagedSmartRecyclerAdapter.refresh].
+         *
+         * @return the total number of items
+         */
+        @UiThread
+        fun getItemCount(): Int
+
+        /**
+         * Called on the [PagedSmartRecyclerAdapter.loadExecutor] in order to load a page.
+         *
+         * @param pageIndex     The index of the page
+         * @param startPosition The position of the first wrapper of the page
+         * @param loadSize      The number of wrappers of the page
+         * @return the `loadSize` wrappers of the page, or `null` if it could not be loaded, in which case it will be
+         * requested again the next time one of its positions is bound. A page with fewer wrappers is not loaded either,
+         * the extra wrappers of a longer page being ignored
+         */
+        @WorkerThread
+        fun loadPage(pageIndex: Int, startPosition: Int, loadSize: Int): List<SmartRecyclerViewWrapper<*>>?
+
+        /**
+         * Called on the UI thread each time the wrapper of a position whose page is not loaded is needed.
+         * As it is called often, the same instance should be returned for all the placeholders of a given type.
+         *
+         * @param position The position of the placeholder
+         * @return the wrapper displayed until the page of the position is loaded
+         */
+        @UiThread
+        fun createPlaceholder(position: Int): SmartRecyclerViewWrapper<*>
+    }
+
+    /**
+     * The wrappers exposed to the [SmartRecyclerAdapter]: the wrapper of a resident page, or a placeholder.
+     */
+    private inner class PagedWrappers : AbstractMutableList<SmartRecyclerViewWrapper<*>>() {
+
+        override val size: Int
+            get() = itemCount
+
+        override fun get(index: Int): SmartRecyclerViewWrapper<*> {
+            return pages[index / pageSize]?.wrappers?.getOrNull(index % pageSize)
+                    ?: pageLoader.createPlaceholder(index)
+        }
+
+        override fun add(index: Int, element: SmartRecyclerViewWrapper<*>) =
+                throw UnsupportedOperationException("The wrappers of a PagedSmartRecyclerAdapter are provided by its PageLoader")
+
+        override fun removeAt(index: Int): SmartRecyclerViewWrapper<*> =
+                throw UnsupportedOperationException("The wrappers of a PagedSmartRecyclerAdapter are provided by its PageLoader")
+
+        override fun set(index: Int, element: SmartRecyclerViewWrapper<*>): SmartRecyclerViewWrapper<*> =
+                throw UnsupportedOperationException("The wrappers of a PagedSmartRecyclerAdapter are provided by its PageLoader")
+
+    }
+
+    /**
+     * The executor on which the pages are loaded.
+     * By default, a single background thread shared by all the paged adapters.
+     */
+    var loadExecutor: Executor = defaultLoadExecutor
+
+    private val mainThreadHandler = Handler(Looper.getMainLooper())
+
+    /**
+     * A resident page.
+     *
+     * @param accessSequence the value of [accessSequence] when one of its wrappers was last bound, or when it was loaded
+     */
+    private class Page(val wrappers: List<SmartRecyclerViewWrapper<*>>, var accessSequence: Long) {
+
+        /**
+         * The offsets of the section headers of the page, in ascending order.
+         */
+        val sectionHeaderOffsets: IntArray = wrappers.indices.filter { wrappers[it] is SmartSectionHeader }.toIntArray()
+
+        /**
+         * For each [ComparisonType], the offset of the first wrapper of each key, created on the first lookup.
+         */
+        private val offsetMaps = arrayOfNulls<ComparisonKeyedMap>(ComparisonType.values().size)
+
+        /**
+         * @return the offset of the first wrapper of the page matching the given identifier and types according to the
+         * `comparisonType`, or `-1` if there is none
+         */
+        fun offsetOf(businessObjectID: Long, businessObjectType: Class<*>?, wrapperType: Class<*>?,
+                     comparisonType: ComparisonType): Int {
+            val offsetMap = offsetMaps[comparisonType.ordinal] ?: ComparisonKeyedMap(comparisonType).also { offsetMap ->
+                wrappers.forEachIndexed { offset, wrapper ->
+                    offsetMap.putIfAbsent(wrapper.getId(), wrapper.businessObject?.javaClass, wrapper.javaClass, offset)
+                }
+                offsetMaps[comparisonType.ordinal] = offsetMap
+            }
+            return offsetMap.get(businessObjectID, businessObjectType, wrapperType, -1)
+        }
+
+    }
+
+    private val pages = SparseArray<Page>()
+
+    private val loadingPages = SparseBooleanArray()
+
+    /**
+     * Incremented each time a page is accessed, so that the least recently accessed page has the lowest sequence.
+     */
+    private var accessSequence = 0L
+
+    private var lastBoundPageIndex = -1
+
+    private var itemCount = 0
+
+    /**
+     * Incremented on every [refresh], so that the pages loaded beforehand are discarded.
+     */
+    private var generation = 0
+
+    init {
+        require(pageSize > 0) { "The page size must be positive" }
+        require(maximumResidentPageCount >= 2 * prefetchPageCount + 2) {
+            "The resident pages must include the prefetched ones, and the page just loaded"
+        }
+        wrappers = PagedWrappers()
+    }
+
+    override fun onBindViewHolder(smartRecyclerAttributes: SmartRecyclerAttributes<*>, position: Int) {
+        onPositionBound(position)
+        super.onBindViewHolder(smartRecyclerAttributes, position)
+    }
+
+    override fun setNewWrapperList(wrappers: List<SmartRecyclerViewWrapper<*>>) {
+        throw UnsupportedOperationException("Use the refresh() method instead")
+    }
+
+    override var wrapperStorage: SmartWrapperStorage
+        get() = super.wrapperStorage
+        set(value) {
+            throw UnsupportedOperationException("The wrappers of a PagedSmartRecyclerAdapter are provided by its PageLoader")
+        }
+
+    /**
+     * Forgets every page, asks the [PageLoader] for the new number of items, and notifies the change.
+     * It MUST be used on the UI thread.
+     */
+    @UiThread
+    fun refresh() {
+        generation++
+        pages.clear()
+        loadingPages.clear()
+        lastBoundPageIndex = -1
+        itemCount = pageLoader.getItemCount()
+        invalidateWrappersIndex()
+        notifyWrappersChanged()
+    }
+
+    /**
+     * @return true if the page of the given position is loaded, false if the position is represented by a placeholder
+     */
+    fun isPositionLoaded(position: Int): Boolean =
+            pages[position / pageSize] != null
+
+    override fun getItemPosition(businessObjectID: Long): Int =
+            findResidentPosition(businessObjectID, null, null, ComparisonType.CLASSIC)
+
+    override fun getItemPosition(businessObjectID: Long, businessObjectType: Class<*>?, wrapperType: Class<*>,
+                                 comparisonType: ComparisonType?): Int =
+            findResidentPosition(businessObjectID, businessObjectType, wrapperType, comparisonType ?: ComparisonType.CLASSIC)
+
+    override fun getSectionCount(): Int {
+        var sectionCount = 0
+        for (index in 0 until pages.size()) {
+            sectionCount += pages.valueAt(index).sectionHeaderOffsets.size
+        }
+        return sectionCount
+    }
+
+    override fun getSectionForPosition(position: Int): Int {
+        if (position < 0 || position >= itemCount) {
+            return -1
+        }
+        var section = -1
+        for (index in 0 until pages.size()) {
+            val startPosition = pages.keyAt(index) * pageSize
+            if (startPosition > position) {
+                break
+            }
+            val sectionHeaderOffsets = pages.valueAt(index).sectionHeaderOffsets
+            if (position >= startPosition + pageSize) {
+                section += sectionHeaderOffsets.size
+            } else {
+                // The number of section headers of the page at or before the position
+                val searchIndex = Arrays.binarySearch(sectionHeaderOffsets, position - startPosition)
+                section += if (searchIndex >= 0) searchIndex + 1 else -searchIndex - 1
+                break
+            }
+        }
+        return section
+    }
+
+    override fun getPositionForSection(section: Int): Int {
+        var remainingSection = section
+        if (remainingSection >= 0) {
+            for (index in 0 until pages.size()) {
+                val sectionHeaderOffsets = pages.valueAt(index).sectionHeaderOffsets
+                if (remainingSection < sectionHeaderOffsets.size) {
+                    return pages.keyAt(index) * pageSize + sectionHeaderOffsets[remainingSection]
+                }
+                remainingSection -= sectionHeaderOffsets.size
+            }
+        }
+        return -1
+    }
+
+    /**
+     * @return the first position of the resident pages matching the given identifier and types, or `-1` if there is none
+     */
+    private fun findResidentPosition(businessObjectID: Long, businessObjectType: Class<*>?, wrapperType: Class<*>?,
+                                     comparisonType: ComparisonType): Int {
+        if (businessObjectID != -1L) {
+            // The pages are sorted by index
+            for (index in 0 until pages.size()) {
+                val offset = pages.valueAt(index).offsetOf(businessObjectID, businessObjectType, wrapperType, comparisonType)
+                if (offset != -1) {
+                    return pages.keyAt(index) * pageSize + offset
+                }
+            }
+        }
+        return -1
+    }
+
+    private fun onPositionBound(position: Int) {
+        val pageIndex = position / pageSize
+        pages[pageIndex]?.accessSequence = ++accessSequence
+        lastBoundPageIndex = pageIndex
+        val lastPageIndex = (itemCount - 1) / pageSize
+        for (index in Math.max(0, pageIndex - prefetchPageCount)..Math.min(lastPageIndex, pageIndex + prefetchPageCount)) {
+            if (pages[index] == null && loadingPages.get(index).not()) {
+                loadPage(index)
+            }
+        }
+    }
+
+    private fun loadPage(pageIndex: Int) {
+        loadingPages.put(pageIndex, true)
+        val loadGeneration = generation
+        val startPosition = pageIndex * pageSize
+        val loadSize = Math.min(pageSize, itemCount - startPosition)
+        loadExecutor.execute {
+            val pageWrappers = pageLoader.loadPage(pageIndex, startPosition, loadSize)
+            mainThreadHandler.post {
+                if (loadGeneration == generation) {
+                    loadingPages.delete(pageIndex)
+                    if (pageWrappers != null && pageWrappers.size >= loadSize) {
+                        onPageLoaded(pageIndex, pageWrappers.subList(0, loadSize))
+                    }
+                }
+            }
+        }
+    }
+
+    private fun onPageLoaded(pageIndex: Int, pageWrappers: List<SmartRecyclerViewWrapper<*>>) {
+        pages.put(pageIndex, Page(pageWrappers, ++accessSequence))
+        invalidateWrappersIndex()
+        listUpdateCallback.onChanged(pageIndex * pageSize, pageWrappers.size, null)
+        while (pages.size() > maximumResidentPageCount) {
+            val evictedPageIndex = findEvictablePage(pageIndex)
+            val evictedPage = pages[evictedPageIndex]
+            pages.remove(evictedPageIndex)
+            invalidateWrappersIndex()
+            // The views bound to the evicted page are rebound as placeholders, which reloads it if needed
+            listUpdateCallback.onChanged(evictedPageIndex * pageSize, evictedPage.wrappers.size, null)
+        }
+    }
+
+    /**
+     * @return the least recently accessed resident page, apart from the given loaded page and the pages prefetched
+     * around the last bound page, which always exists as long as `maximumResidentPageCount >= 2 * prefetchPageCount + 2`
+     */
+    private fun findEvictablePage(loadedPageIndex: Int): Int {
+        var evictablePageIndex = -1
+        var evictableAccessSequence = Long.MAX_VALUE
+        for (index in 0 until pages.size()) {
+            val pageIndex = pages.keyAt(index)
+            val page = pages.valueAt(index)
+            if (pageIndex != loadedPageIndex && Math.abs(pageIndex - lastBoundPageIndex) > prefetchPageCount
+                    && page.accessSequence < evictableAccessSequence) {
+                evictablePageIndex = pageIndex
+                evictableAccessSequence = page.accessSequence
+            }
+        }
+        return evictablePageIndex
+    }
+
+    companion object {
+
+        const val DEFAULT_PAGE_SIZE = 50
+
+        const val DEFAULT_PREFETCH_PAGE_COUNT = 1
+
+        const val DEFAULT_MAXIMUM_RESIDENT_PAGE_COUNT = 8
+
+        private val defaultLoadExecutor: Executor by lazy {
+            Executors.newSingleThreadExecutor { runnable -> Thread(runnable, "SmartRecyclerView-page-loader") }
+        }
+
+    }
+
+}
@@ -0,0 +1,172 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.adapter
+
+import androidx.recyclerview.widget.DiffUtil
+import androidx.recyclerview.widget.ListUpdateCallback
+import com.smartnsoft.smartrecyclerview.adapter.DiffUtilSmartRecyclerAdapter.DiffStrategy
+import com.smartnsoft.smartrecyclerview.adapter.DiffUtilSmartRecyclerAdapter.SmartDiffUtilCallback
+
+/**
+ * Computes the diffs of a [DiffUtilSmartRecyclerAdapter].
+ *
+ * The common head and tail of the old and new lists are detected in a single linear pass and stripped, so that only
+ * the changed middle window goes through [DiffUtil], its updates being offset when they are dispatched.
+ * Paginated appends and edits near the top of a list therefore only cost the size of the change.
+ *
+ * The middle window is compared according to a [DiffStrategy]: either through [DiffUtil], or through a
+ * [SmartLinearDiff] when the callback is a [SmartDiffUtilCallback] and the identifiers of the window are unique,
+ * the latter being possibly split across threads with a [SmartParallelDiff] for large lists.
+ *
+ * @since 2026.10.18
+ */
+internal object SmartDiffCalculator {
+
+    /**
+     * The result of [SmartDiffCalculator.calculateDiff].
+     */
+    class DiffResult internal constructor(
+            private val offset: Int,
+            private val removedCount: Int,
+            private val insertedCount: Int,
+            private val windowDiffResult: DiffUtil.DiffResult?,
+            private val windowLinearDiff: SmartLinearDiff?
+    ) {
+
+        /**
+         * Dispatches the update events to the given callback.
+         */
+        fun dispatchUpdatesTo(callback: ListUpdateCallback) {
+            when {
+                windowDiffResult != null -> windowDiffResult.dispatchUpdatesTo(OffsetListUpdateCallback(callback, offset))
+                windowLinearDiff != null -> windowLinearDiff.dispatchUpdatesTo(OffsetListUpdateCallback(callback, offset))
+                else -> {
+                    if (removedCount > 0) {
+                        callback.onRemoved(offset, removedCount)
+                    }
+                    if (insertedCount > 0) {
+                        callback.onInserted(offset, insertedCount)
+                    }
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Forwards the update events to another [ListUpdateCallback], their positions being offset.
+     */
+    private class OffsetListUpdateCallback(private val callback: ListUpdateCallback, private val offset: Int) : ListUpdateCallback {
+
+        override fun onInserted(position: Int, count: Int) =
+                callback.onInserted(position + offset, count)
+
+        override fun onRemoved(position: Int, count: Int) =
+                callback.onRemoved(position + offset, count)
+
+        override fun onMoved(fromPosition: Int, toPosition: Int) =
+                callback.onMoved(fromPosition + offset, toPosition + offset)
+
+        override fun onChanged(position: Int, count: Int, payload: Any?) =
+                callback.onChanged(position + offset, count, payload)
+
+    }
+
+    /**
+     * Exposes the `[offset, offset + oldSize)` and `[offset, offset + newSize)` windows of another callback.
+     */
+    private class WindowDiffCallback(
+            private val callback: DiffUtil.Callback,
+            private val offset: Int,
+            private val oldSize: Int,
+            private val newSize: Int
+    ) : DiffUtil.Callback() {
+
+        override fun getOldListSize(): Int = oldSize
+
+        override fun getNewListSize(): Int = newSize
+
+        override fun areItemsTheSame(oldItemPosition: Int, newItemPosition: Int): Boolean =
+                callback.areItemsTheSame(oldItemPosition + offset, newItemPosition + offset)
+
+        override fun areContentsTheSame(oldItemPosition: Int, newItemPosition: Int): Boolean =
+                callback.areContentsTheSame(oldItemPosition + offset, newItemPosition + offset)
+
+        override fun getChangePayload(oldItemPosition: Int, newItemPosition: Int): Any? =
+                callback.getChangePayload(oldItemPosition + offset, newItemPosition + offset)
+
+    }
+
+    /**
+     * Calculates the list of update operations that can convert the old list into the new one, both exposed by the
+     * given callback.
+     *
+     * @param callback    The callback that acts as a gateway to the backing lists
+     * @param detectMoves true if DiffUtil should try to detect moved items, false otherwise
+     * @param strategy    The algorithm used to compare the changed window of the lists
+     * @param parallelDiff The threads used by the [DiffStrategy.PARALLEL_ID_HASHING] strategy, [SmartParallelDiff.default]
+     *                     if `null`
+     */
+    fun calculateDiff(callback: DiffUtil.Callback, detectMoves: Boolean, strategy: DiffStrategy,
+                      parallelDiff: SmartParallelDiff? = null): DiffResult {
+        val oldSize = callback.oldListSize
+        val newSize = callback.newListSize
+        val windowParallelDiff = if (strategy == DiffStrategy.PARALLEL_ID_HASHING && callback is SmartDiffUtilCallback
+                && oldSize + newSize >= SmartParallelDiff.MINIMUM_PARALLEL_ITEM_COUNT) {
+            (parallelDiff ?: SmartParallelDiff.default).also { callback.readSnapshotsInParallel(it) }
+        } else {
+            null
+        }
+        val minimumSize = Math.min(oldSize, newSize)
+        var prefixSize = 0
+        while (prefixSize < minimumSize && isUnchanged(callback, prefixSize, prefixSize)) {
+            prefixSize++
+        }
+        var suffixSize = 0
+        while (suffixSize < minimumSize - prefixSize && isUnchanged(callback, oldSize - 1 - suffixSize, newSize - 1 - suffixSize)) {
+            suffixSize++
+        }
+        val oldWindowSize = oldSize - prefixSize - suffixSize
+        val newWindowSize = newSize - prefixSize - suffixSize
+        if (oldWindowSize == 0 || newWindowSize == 0) {
+            return DiffResult(prefixSize, oldWindowSize, newWindowSize, null, null)
+        }
+        if (strategy != DiffStrategy.MYERS && callback is SmartDiffUtilCallback) {
+            val oldIds = callback.oldWrappersSnapshot.ids
+            val newIds = callback.newWrappersSnapshot.ids
+            val windowLinearDiff = if (windowParallelDiff != null) {
+                SmartLinearDiff.calculateDiffInParallel(callback, oldIds, newIds, prefixSize, oldWindowSize, newWindowSize, detectMoves, windowParallelDiff)
+            } else {
+                SmartLinearDiff.calculateDiff(callback, oldIds, newIds, prefixSize, oldWindowSize, newWindowSize, detectMoves)
+            }
+            if (windowLinearDiff != null) {
+                return DiffResult(prefixSize, oldWindowSize, newWindowSize, null, windowLinearDiff)
+            }
+        }
+        val windowDiffResult = DiffUtil.calculateDiff(WindowDiffCallback(callback, prefixSize, oldWindowSize, newWindowSize), detectMoves)
+        return DiffResult(prefixSize, oldWindowSize, newWindowSize, windowDiffResult, null)
+    }
+
+    private fun isUnchanged(callback: DiffUtil.Callback, oldItemPosition: Int, newItemPosition: Int): Boolean =
+            callback.areItemsTheSame(oldItemPosition, newItemPosition) && callback.areContentsTheSame(oldItemPosition, newItemPosition)
+
+}
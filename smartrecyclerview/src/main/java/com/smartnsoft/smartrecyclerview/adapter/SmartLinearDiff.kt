@@ -0,0 +1,314 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.adapter
+
+import androidx.recyclerview.widget.BatchingListUpdateCallback
+import androidx.recyclerview.widget.DiffUtil
+import androidx.recyclerview.widget.ListUpdateCallback
+import com.smartnsoft.smartrecyclerview.collection.LongIntHashMap
+import java.util.*
+
+/**
+ * A diff between two lists of items with unique identifiers, which matches the items by hashing their identifiers
+ * instead of running the Myers algorithm, so that its cost does not depend on the edit distance.
+ *
+ * The old and new items are matched through a hash of their identifiers in O(N+M). The matched items which keep their
+ * relative order are the longest increasing subsequence of their old positions, and are never moved: each other
+ * matched item is moved once, its current position being tracked with a Fenwick tree. Both steps run in
+ * O(K log K), K being the number of matched items.
+ *
+ * The updates are dispatched in the following order: removals from the end of the list, moves, insertions from the
+ * start of the list, then changes at their final position.
+ *
+ * The matching and the detection of the changed items can also be split across threads with a [SmartParallelDiff]:
+ * the old identifiers are indexed once, then each task looks up a contiguous range of new identifiers in that index.
+ *
+ * @since 2026.10.18
+ */
+internal class SmartLinearDiff private constructor(
+        private val callback: DiffUtil.Callback,
+        private val offset: Int,
+        private val oldToNew: IntArray,
+        private val newToOld: IntArray,
+        private val detectMoves: Boolean,
+        private val isChanged: BooleanArray?
+) {
+
+    /**
+     * Dispatches the update events to the given callback, the positions being relative to the start of the compared
+     * windows.
+     */
+    fun dispatchUpdatesTo(updateCallback: ListUpdateCallback) {
+        val batchingCallback = BatchingListUpdateCallback(updateCallback)
+        val oldToRank = IntArray(oldToNew.size)
+        var matchedCount = 0
+        for (oldPosition in oldToNew.indices) {
+            oldToRank[oldPosition] = if (oldToNew[oldPosition] == NO_POSITION) NO_POSITION else matchedCount++
+        }
+        val ranks = IntArray(matchedCount)
+        var index = 0
+        for (newPosition in newToOld.indices) {
+            val oldPosition = newToOld[newPosition]
+            if (oldPosition != NO_POSITION) {
+                ranks[index++] = oldToRank[oldPosition]
+            }
+        }
+        val isStable = longestIncreasingSubsequence(ranks)
+        if (detectMoves.not()) {
+            // The items which are not part of the subsequence are removed then inserted again, instead of being moved
+            for (newPosition in newToOld.indices) {
+                val oldPosition = newToOld[newPosition]
+                if (oldPosition != NO_POSITION && isStable[oldToRank[oldPosition]].not()) {
+                    newToOld[newPosition] = NO_POSITION
+                    oldToNew[oldPosition] = NO_POSITION
+                }
+            }
+        }
+
+        dispatchRemovals(batchingCallback)
+        if (detectMoves) {
+            dispatchMoves(batchingCallback, ranks, isStable)
+        }
+        dispatchInsertions(batchingCallback)
+        dispatchChanges(batchingCallback)
+        batchingCallback.dispatchLastEvent()
+    }
+
+    private fun dispatchRemovals(updateCallback: ListUpdateCallback) {
+        var end = oldToNew.size
+        while (end > 0) {
+            if (oldToNew[end - 1] == NO_POSITION) {
+                var start = end - 1
+                while (start > 0 && oldToNew[start - 1] == NO_POSITION) {
+                    start--
+                }
+                updateCallback.onRemoved(start, end - start)
+                end = start
+            } else {
+                end--
+            }
+        }
+    }
+
+    /**
+     * Once the removals are dispatched, the list holds the matched items in their old order, identified by their rank.
+     * Slot `2 * rank + 1` holds the item of that rank as long as it has not been moved, and the slot which follows
+     * it holds the items moved right after it, the slot `0` holding the items moved at the start of the list.
+     */
+    private fun dispatchMoves(updateCallback: ListUpdateCallback, ranks: IntArray, isStable: BooleanArray) {
+        val slots = FenwickTree(2 * ranks.size + 1)
+        for (rank in ranks.indices) {
+            slots.add(2 * rank + 1, 1)
+        }
+        var previousStableRank = NO_POSITION
+        for (rank in ranks) {
+            if (isStable[rank]) {
+                previousStableRank = rank
+            } else {
+                val itemSlot = 2 * rank + 1
+                val fromPosition = slots.prefixSum(itemSlot - 1)
+                slots.add(itemSlot, -1)
+                val targetSlot = if (previousStableRank == NO_POSITION) 0 else 2 * previousStableRank + 2
+                val toPosition = slots.prefixSum(targetSlot)
+                slots.add(targetSlot, 1)
+                if (fromPosition != toPosition) {
+                    updateCallback.onMoved(fromPosition, toPosition)
+                }
+            }
+        }
+    }
+
+    private fun dispatchInsertions(updateCallback: ListUpdateCallback) {
+        var start = 0
+        while (start < newToOld.size) {
+            if (newToOld[start] == NO_POSITION) {
+                var end = start + 1
+                while (end < newToOld.size && newToOld[end] == NO_POSITION) {
+                    end++
+                }
+                updateCallback.onInserted(start, end - start)
+                start = end
+            } else {
+                start++
+            }
+        }
+    }
+
+    private fun dispatchChanges(updateCallback: ListUpdateCallback) {
+        for (newPosition in newToOld.indices) {
+            val oldPosition = newToOld[newPosition]
+            if (oldPosition != NO_POSITION && isChanged(oldPosition, newPosition)) {
+                updateCallback.onChanged(newPosition, 1, callback.getChangePayload(oldPosition + offset, newPosition + offset))
+            }
+        }
+    }
+
+    private fun isChanged(oldPosition: Int, newPosition: Int): Boolean =
+            isChanged?.get(newPosition) ?: callback.areContentsTheSame(oldPosition + offset, newPosition + offset).not()
+
+    /**
+     * A binary indexed tree over `int` counts.
+     */
+    private class FenwickTree(size: Int) {
+
+        private val tree = IntArray(size + 1)
+
+        fun add(index: Int, delta: Int) {
+            var node = index + 1
+            while (node < tree.size) {
+                tree[node] += delta
+                node += node and -node
+            }
+        }
+
+        /**
+         * @return the sum of the counts from `0` to `index` included
+         */
+        fun prefixSum(index: Int): Int {
+            var sum = 0
+            var node = index + 1
+            while (node > 0) {
+                sum += tree[node]
+                node -= node and -node
+            }
+            return sum
+        }
+
+    }
+
+    companion object {
+
+        private const val NO_POSITION = -1
+
+        /**
+         * Matches the items of the `[offset, offset + oldSize)` and `[offset, offset + newSize)` windows by identifier.
+         * A new identifier may be held by several items as long as it does not match an old item, those items being
+         * all inserted.
+         *
+         * @return the diff, or `null` if the old window holds the same identifier twice, or if two new items match the
+         * same old item
+         */
+        fun calculateDiff(callback: DiffUtil.Callback, oldIds: LongArray, newIds: LongArray, offset: Int,
+                          oldSize: Int, newSize: Int, detectMoves: Boolean): SmartLinearDiff? {
+            val oldPositionsById = indexOldIds(oldIds, offset, oldSize) ?: return null
+            val newToOld = IntArray(newSize)
+            for (newPosition in 0 until newSize) {
+                newToOld[newPosition] = oldPositionsById.get(newIds[newPosition + offset], NO_POSITION)
+            }
+            val oldToNew = matchOldPositions(newToOld, oldSize) ?: return null
+            return SmartLinearDiff(callback, offset, oldToNew, newToOld, detectMoves, null)
+        }
+
+        /**
+         * Works like [calculateDiff], the lookup of the new identifiers and the comparison of the contents being split
+         * across the threads of the given [SmartParallelDiff] by contiguous ranges of new items, all the threads
+         * reading the same index of the old identifiers. The callback may therefore be called from several threads.
+         */
+        fun calculateDiffInParallel(callback: DiffUtil.Callback, oldIds: LongArray, newIds: LongArray, offset: Int,
+                                    oldSize: Int, newSize: Int, detectMoves: Boolean, parallelDiff: SmartParallelDiff): SmartLinearDiff? {
+            val oldPositionsById = indexOldIds(oldIds, offset, oldSize) ?: return null
+            val newToOld = IntArray(newSize)
+            val isChanged = BooleanArray(newSize)
+            val chunkCount = parallelDiff.parallelism
+            val chunkSize = (newSize + chunkCount - 1) / chunkCount
+            // Each task only reads the index, and writes its own range of newToOld and isChanged
+            parallelDiff.run(chunkCount) { chunk ->
+                for (newPosition in chunk * chunkSize until Math.min((chunk + 1) * chunkSize, newSize)) {
+                    val oldPosition = oldPositionsById.get(newIds[newPosition + offset], NO_POSITION)
+                    newToOld[newPosition] = oldPosition
+                    if (oldPosition != NO_POSITION) {
+                        isChanged[newPosition] = callback.areContentsTheSame(oldPosition + offset, newPosition + offset).not()
+                    }
+                }
+            }
+            val oldToNew = matchOldPositions(newToOld, oldSize) ?: return null
+            return SmartLinearDiff(callback, offset, oldToNew, newToOld, detectMoves, isChanged)
+        }
+
+        /**
+         * @return the old positions by identifier, or `null` if the old window holds the same identifier twice
+         */
+        private fun indexOldIds(oldIds: LongArray, offset: Int, oldSize: Int): LongIntHashMap? {
+            val oldPositionsById = LongIntHashMap(oldSize)
+            for (oldPosition in 0 until oldSize) {
+                if (oldPositionsById.putIfAbsent(oldIds[oldPosition + offset], oldPosition).not()) {
+                    return null
+                }
+            }
+            return oldPositionsById
+        }
+
+        /**
+         * @return the reverse of the given mapping, or `null` if two new items match the same old item
+         */
+        private fun matchOldPositions(newToOld: IntArray, oldSize: Int): IntArray? {
+            val oldToNew = IntArray(oldSize)
+            Arrays.fill(oldToNew, NO_POSITION)
+            for (newPosition in newToOld.indices) {
+                val oldPosition = newToOld[newPosition]
+                if (oldPosition != NO_POSITION) {
+                    if (oldToNew[oldPosition] != NO_POSITION) {
+                        return null
+                    }
+                    oldToNew[oldPosition] = newPosition
+                }
+            }
+            return oldToNew
+        }
+
+        /**
+         * @return for each value of the given permutation of `[0, values.size)`, whether it belongs to one of its
+         * longest increasing subsequences
+         */
+        private fun longestIncreasingSubsequence(values: IntArray): BooleanArray {
+            val tailIndexes = IntArray(values.size)
+            val previousIndexes = IntArray(values.size)
+            var length = 0
+            for (index in values.indices) {
+                var low = 0
+                var high = length
+                while (low < high) {
+                    val middle = (low + high) ushr 1
+                    if (values[tailIndexes[middle]] < values[index]) {
+                        low = middle + 1
+                    } else {
+                        high = middle
+                    }
+                }
+                previousIndexes[index] = if (low > 0) tailIndexes[low - 1] else NO_POSITION
+                tailIndexes[low] = index
+                if (low == length) {
+                    length++
+                }
+            }
+            val isInSubsequence = BooleanArray(values.size)
+            var index = if (length > 0) tailIndexes[length - 1] else NO_POSITION
+            while (index != NO_POSITION) {
+                isInSubsequence[values[index]] = true
+                index = previousIndexes[index]
+            }
+            return isInSubsequence
+        }
+
+    }
+
+}
@@ -0,0 +1,79 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.adapter
+
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+
+/**
+ * Splits the work of a diff into tasks run on a pool of threads, one per core by default.
+ *
+ * The pool is a fixed thread pool rather than a fork-join pool, as the latter is not available before API 21. Its
+ * threads are daemon threads, so that they never keep the process alive.
+ *
+ * @since 2026.10.18
+ */
+internal class SmartParallelDiff(val parallelism: Int, private val executor: ExecutorService) {
+
+    /**
+     * Runs the given task for every index from `0` to `taskCount` excluded, and waits for all of them.
+     * The first failure of a task is rethrown on the calling thread.
+     */
+    fun run(taskCount: Int, task: (Int) -> Unit) {
+        if (taskCount <= 1) {
+            for (index in 0 until taskCount) {
+                task(index)
+            }
+            return
+        }
+        val callables = ArrayList<Callable<Unit>>(taskCount)
+        for (index in 0 until taskCount) {
+            callables.add(Callable { task(index) })
+        }
+        for (future in executor.invokeAll(callables)) {
+            try {
+                future.get()
+            } catch (exception: ExecutionException) {
+                throw exception.cause ?: exception
+            }
+        }
+    }
+
+    companion object {
+
+        /**
+         * Under this total number of items, the parallel diff is not worth its overhead.
+         */
+        const val MINIMUM_PARALLEL_ITEM_COUNT = 10_000
+
+        val default: SmartParallelDiff by lazy {
+            val parallelism = Runtime.getRuntime().availableProcessors()
+            SmartParallelDiff(parallelism, Executors.newFixedThreadPool(parallelism) { runnable ->
+                Thread(runnable, "SmartRecyclerView-parallel-diff").apply { isDaemon = true }
+            })
+        }
+
+    }
+
+}
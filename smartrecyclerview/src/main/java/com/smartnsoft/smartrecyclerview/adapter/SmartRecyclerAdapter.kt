@@ -22,12 +22,15 @@
 package com.smartnsoft.smartrecyclerview.adapter
 
 import android.content.Context
-import android.util.SparseArray
 import android.view.ViewGroup
 import androidx.annotation.UiThread
+import androidx.recyclerview.widget.AdapterListUpdateCallback
+import androidx.recyclerview.widget.ListUpdateCallback
 import androidx.recyclerview.widget.RecyclerView
 import com.smartnsoft.smartrecyclerview.attributes.SmartRecyclerAttributes
 import com.smartnsoft.smartrecyclerview.wrapper.SmartRecyclerViewWrapper
+import com.smartnsoft.smartrecyclerview.wrapper.SmartSectionHeader
+import com.smartnsoft.smartrecyclerview.wrapper.SmartViewTypeRegistry
 import java.util.*
 
 /**
@@ -61,7 +64,7 @@ open class SmartRecyclerAdapter
          */
         REMOVE_OLD_DATA_AT_ONCE,
         /**
-         * Removes items one by one to benefit from single deletion animation
+         * Removes every items, the removals being notified as a single range
          */
         REMOVE_OLD_DATA_ONE_BY_ONE,
         /**
@@ -104,28 +107,225 @@ open class SmartRecyclerAdapter
         BUSINESS_OBJECT_AND_WRAPPER_TYPE
     }
 
+    /**
+     * Interface definition for a callback to be invoked when a reorder started with [beginReorder] is committed.
+     */
+    interface OnWrapperMovedListener {
+        /**
+         * Callback method invoked once the dragged wrapper has been dropped at a new position.
+         *
+         * @param fromPosition The position of the wrapper before the reorder
+         * @param toPosition   The position of the wrapper after the reorder
+         * @param id           The identifier of the wrapper
+         */
+        fun onWrapperMoved(fromPosition: Int, toPosition: Int, id: Long)
+    }
+
+    /**
+     * The wrappers displayed by the adapter.
+     * A subclass which modifies this list directly must call [invalidateWrappersIndex] afterwards.
+     */
     protected var wrappers: MutableList<SmartRecyclerViewWrapper<*>> = mutableListOf()
 
+    /**
+     * The data structure holding the [wrappers], [SmartWrapperStorage.ARRAY_LIST] by default. Changing it copies the
+     * current wrappers into the new structure, so it should rather be set before the wrappers are provided.
+     * When it is changed while a reorder is in progress, the change is deferred until the reorder ends.
+     * It cannot be changed on the adapters which provide their own [wrappers] list, like the [PagedSmartRecyclerAdapter]
+     * and the [LazySmartRecyclerAdapter].
+     */
+    open var wrapperStorage: SmartWrapperStorage = SmartWrapperStorage.ARRAY_LIST
+        set(value) {
+            if (deferWhileReordering { wrapperStorage = value }) {
+                return
+            }
+            if (field != value) {
+                field = value
+                wrappers = value.createList().apply { addAll(wrappers) }
+            }
+        }
+
     var intentFilterCategory: String = ""
 
-    private val viewTypeAttributesDictionary = SparseArray<SmartRecyclerViewWrapper<*>>()
+    /**
+     * When true, [setNewWrapperList] and the [DiffUtilSmartRecyclerAdapter.setWrappersForDiffUtil] methods keep the current wrapper of every item whose identifier, class and content did
+     * not change, instead of the new one, so that the business object identity of the unchanged items is preserved.
+     * The contents are compared through the [com.smartnsoft.smartrecyclerview.wrapper.SmartDiffUtil.diffUtilHashCode]
+     * when the wrappers implement it, through the business object [Any.equals] method otherwise.
+     * The wrappers must therefore provide a meaningful [SmartRecyclerViewWrapper.getId].
+     */
+    var shouldReconcileWrappers: Boolean = false
+
+    /**
+     * When true, the adapter does not bind a wrapper to a view which already displays the same item, i.e. an item with
+     * the same [SmartRecyclerViewWrapper.getId], the same [SmartRecyclerViewWrapper.getContentVersion] and the same
+     * selection state, even if it is a new instance. The views recycled through the pool are always bound.
+     */
+    var shouldSkipRedundantBinds: Boolean = false
+
+    /**
+     * The number of wrappers bound to a view by the adapter.
+     */
+    var bindCount: Long = 0
+        private set
+
+    /**
+     * The number of binds skipped because the view already displayed the item, see [shouldSkipRedundantBinds].
+     */
+    var skippedBindCount: Long = 0
+        private set
+
+    /**
+     * For each view type, indexed by the view type, the position whose view type was last requested through
+     * [getItemViewType], `-1` if none. The RecyclerView creating a view holder for the position whose view type it has
+     * just requested, the wrapper at that position creates the views of a type which has no
+     * [com.smartnsoft.smartrecyclerview.wrapper.SmartViewFactory].
+     */
+    private var viewTypePositions = IntArray(0)
 
     private var selectedPositionItem = -1
 
+    private val wrappersIndex = SmartRecyclerWrapperIndex()
+
+    private val adapterListUpdateCallback = AdapterListUpdateCallback(this)
+
+    private val notificationLog = SmartRecyclerNotificationLog()
+
+    private var batchDepth = 0
+
+    private var reorderSession: SmartReorderSession? = null
+
+    /**
+     * The edits of the wrappers requested while a reorder is in progress, applied in order once it ends.
+     */
+    private val editsPendingReorder = ArrayDeque<() -> Unit>()
+
+    /**
+     * The listener notified when a reorder is committed.
+     */
+    var onWrapperMovedListener: OnWrapperMovedListener? = null
+
+    /**
+     * @return true if a reorder started with [beginReorder] has not been committed yet, false otherwise
+     */
+    val isReorderInProgress: Boolean
+        get() = reorderSession != null
+
+    /**
+     * The callback through which the adapter notifies its changes: they are forwarded to the adapter observers
+     * right away, unless a batch is in progress, in which case they are recorded until the batch is committed.
+     */
+    protected val listUpdateCallback: ListUpdateCallback
+        get() = if (batchDepth > 0) notificationLog else adapterListUpdateCallback
+
+    /**
+     * @return true if a batch started with [beginBatch] has not been committed yet, false otherwise
+     */
+    val isBatchInProgress: Boolean
+        get() = batchDepth > 0
+
     override fun onCreateViewHolder(viewGroup: ViewGroup, viewType: Int): SmartRecyclerAttributes<*> {
-        val wrapper = viewTypeAttributesDictionary[viewType]
-        val view = wrapper.getNewView(viewGroup, context)
-        val viewAttributes = wrapper.getViewAttributes(view)
+        val view = SmartViewTypeRegistry.getViewFactory(viewType)?.createView(viewGroup, context)
+                ?: getWrapperOfViewType(viewType).getNewView(viewGroup, context)
+        val viewAttributes = view.tag as SmartRecyclerAttributes<*>
         viewAttributes.intentFilterCategory = intentFilterCategory
         return viewAttributes
     }
 
     override fun onBindViewHolder(smartRecyclerAttributes: SmartRecyclerAttributes<*>, position: Int) {
-        wrappers[position].businessObject?.also { businessObject ->
-            smartRecyclerAttributes.uncheckedUpdate(businessObject, selectedPositionItem == position)
+        // The view holder may have been created by another adapter sharing the same pool
+        smartRecyclerAttributes.intentFilterCategory = intentFilterCategory
+        bindWrapper(smartRecyclerAttributes, wrappers[position], isItemSelected(position))
+    }
+
+    override fun onBindViewHolder(smartRecyclerAttributes: SmartRecyclerAttributes<*>, position: Int, payloads: List<Any>) {
+        if (payloads.isEmpty() || bindWrapperPartially(smartRecyclerAttributes, wrappers[position], isItemSelected(position), payloads).not()) {
+            onBindViewHolder(smartRecyclerAttributes, position)
         }
     }
 
+    /**
+     * @param position The position of the item
+     * @return true if the item at the given position is selected, false otherwise
+     */
+    protected open fun isItemSelected(position: Int): Boolean =
+            selectedPositionItem == position
+
+    override fun onViewRecycled(smartRecyclerAttributes: SmartRecyclerAttributes<*>) {
+        super.onViewRecycled(smartRecyclerAttributes)
+        smartRecyclerAttributes.invalidateBindStamp()
+    }
+
+    /**
+     * Binds the business object of a wrapper to a view, unless the bind is redundant and [shouldSkipRedundantBinds]
+     * is true.
+     *
+     * @param smartRecyclerAttributes The view holder
+     * @param wrapper                 The wrapper to bind
+     * @param isSelected              Whether the item is selected
+     */
+    protected fun bindWrapper(smartRecyclerAttributes: SmartRecyclerAttributes<*>, wrapper: SmartRecyclerViewWrapper<*>, isSelected: Boolean) {
+        updateViewHolder(smartRecyclerAttributes, wrapper, isSelected)?.also { isBound ->
+            if (isBound) {
+                bindCount++
+            } else {
+                skippedBindCount++
+            }
+        }
+    }
+
+    /**
+     * Binds the wrapper at the given position to a view holder which is not displayed by the RecyclerView, like the
+     * header drawn by a [com.smartnsoft.smartrecyclerview.widget.SmartStickyHeaderDecoration]. Unlike
+     * [onBindViewHolder], the bind is neither counted nor seen by the subclasses, so that it is free of side effects.
+     *
+     * @param smartRecyclerAttributes The view holder
+     * @param position                The position of the wrapper to bind
+     */
+    internal fun bindDetachedViewHolder(smartRecyclerAttributes: SmartRecyclerAttributes<*>, position: Int) {
+        smartRecyclerAttributes.intentFilterCategory = intentFilterCategory
+        updateViewHolder(smartRecyclerAttributes, wrappers[position], isItemSelected(position))
+    }
+
+    /**
+     * @return true if the business object of the wrapper has been bound, false if the bind has been skipped, `null` if
+     * the wrapper has no business object
+     */
+    private fun updateViewHolder(smartRecyclerAttributes: SmartRecyclerAttributes<*>, wrapper: SmartRecyclerViewWrapper<*>,
+                                 isSelected: Boolean): Boolean? {
+        val businessObject = wrapper.businessObject ?: return null
+        val contentVersion = if (shouldSkipRedundantBinds) wrapper.getContentVersion() else SmartRecyclerAttributes.NO_CONTENT_VERSION
+        return smartRecyclerAttributes.uncheckedUpdate(businessObject, isSelected, wrapper.getId(), contentVersion)
+    }
+
+    /**
+     * Lets the view holder handle the payloads of a change through
+     * [SmartRecyclerAttributes.onBusinessObjectPartiallyUpdated].
+     *
+     * @param smartRecyclerAttributes The view holder
+     * @param wrapper                 The wrapper to bind
+     * @param isSelected              Whether the item is selected
+     * @param payloads                The payloads of the change
+     * @return true if the view holder has handled the payloads, false if a full bind is needed
+     */
+    protected fun bindWrapperPartially(smartRecyclerAttributes: SmartRecyclerAttributes<*>, wrapper: SmartRecyclerViewWrapper<*>,
+                                       isSelected: Boolean, payloads: List<Any>): Boolean {
+        val businessObject = wrapper.businessObject ?: return false
+        return smartRecyclerAttributes.uncheckedPartialUpdate(businessObject, isSelected, payloads).also { isUpdated ->
+            if (isUpdated) {
+                bindCount++
+            }
+        }
+    }
+
+    /**
+     * Resets the [bindCount] and [skippedBindCount] counters.
+     */
+    fun resetBindCounts() {
+        bindCount = 0
+        skippedBindCount = 0
+    }
+
     /**
      * Allows you to get the unique identifier of an item in the adapter
      *
@@ -139,7 +339,16 @@ open class SmartRecyclerAdapter
      */
     override fun getItemCount(): Int = wrappers.size
 
-    override fun getItemViewType(position: Int): Int = wrappers[position].getType()
+    override fun getItemViewType(position: Int): Int {
+        val viewType = wrappers[position].getType()
+        if (viewType >= viewTypePositions.size) {
+            val viewTypeCount = viewTypePositions.size
+            viewTypePositions = viewTypePositions.copyOf(Math.max(viewType + 1, SmartViewTypeRegistry.viewTypeCount))
+            viewTypePositions.fill(-1, viewTypeCount)
+        }
+        viewTypePositions[viewType] = position
+        return viewType
+    }
 
     /**
      * Initializes the wrapper list in the adapter and call notifyDataSetChanged
@@ -149,19 +358,83 @@ open class SmartRecyclerAdapter
      * @param wrappers The list of wrappers to use in the adapter
      */
     open fun setNewWrapperList(wrappers: List<SmartRecyclerViewWrapper<*>>) {
+        if (deferWhileReordering { setNewWrapperList(wrappers) }) {
+            return
+        }
+        replaceWrappers(reconcileWrappers(this.wrappers, wrappers))
+    }
+
+    /**
+     * Replaces the wrappers of the adapter, without reconciling them, and notifies the change if the adapter was
+     * created so.
+     *
+     * @param wrappers The list of wrappers to use in the adapter
+     */
+    protected fun replaceWrappers(wrappers: List<SmartRecyclerViewWrapper<*>>) {
         this.wrappers.apply {
             clear()
             addAll(wrappers)
         }
-        for (wrapper in wrappers) {
-            addWrapperTypeToDictionary(wrapper)
-        }
+        wrappersIndex.invalidate()
         if (shouldNotifyBeCalled) {
-            notifyDataSetChanged()
+            notifyWrappersChanged()
+        }
+    }
+
+    /**
+     * @param oldWrappers The wrappers held by the adapter
+     * @param newWrappers The wrappers about to replace them
+     * @return the new wrappers, reconciled with the old ones if [shouldReconcileWrappers] is true
+     */
+    protected fun reconcileWrappers(
+            oldWrappers: List<SmartRecyclerViewWrapper<*>>,
+            newWrappers: List<SmartRecyclerViewWrapper<*>>
+    ): List<SmartRecyclerViewWrapper<*>> =
+            if (shouldReconcileWrappers) SmartWrapperReconciler.reconcile(oldWrappers, newWrappers) else newWrappers
+
+    /**
+     * Starts a batch: until the matching [commit], the notifications of the adapter are recorded instead of being
+     * dispatched, then merged into the smallest set of range notifications.
+     * Batches can be nested, the notifications being dispatched when the outermost batch is committed.
+     * It MUST be used on the UI thread.
+     */
+    @UiThread
+    fun beginBatch() {
+        batchDepth++
+    }
+
+    /**
+     * Runs the given edits within a batch, and commits it.
+     * It MUST be used on the UI thread.
+     *
+     * @param edits The edits to perform on the adapter
+     */
+    @UiThread
+    fun beginBatch(edits: SmartRecyclerAdapter.() -> Unit) {
+        beginBatch()
+        try {
+            edits()
+        } finally {
+            commit()
         }
     }
 
     /**
+     * Ends the batch started with [beginBatch], and dispatches the merged notifications once the outermost batch is
+     * committed.
+     * It MUST be used on the UI thread.
+     */
+    @UiThread
+    fun commit() {
+        check(batchDepth > 0) { "commit() called without a matching beginBatch()" }
+        batchDepth--
+        if (batchDepth == 0 && notificationLog.isEmpty().not()) {
+            notificationLog.dispatchTo(this)
+        }
+    }
+
+    /**
+     * Notifies the previously and newly selected items with the [SmartRecyclerPayload.SELECTION] payload.
      * It MUST be used on the UI thread.
      *
      * @param position The position which will be selected in the list
@@ -170,8 +443,12 @@ open class SmartRecyclerAdapter
     fun setSelectedPositionItem(position: Int) {
         val lastSelectedPositionItem = selectedPositionItem
         selectedPositionItem = position
-        notifyItemChanged(position)
-        notifyItemChanged(lastSelectedPositionItem)
+        if (position != -1) {
+            listUpdateCallback.onChanged(position, 1, SmartRecyclerPayload.SELECTION)
+        }
+        if (lastSelectedPositionItem != -1) {
+            listUpdateCallback.onChanged(lastSelectedPositionItem, 1, SmartRecyclerPayload.SELECTION)
+        }
     }
 
     fun getSpanSizeForPosition(position: Int): Int = wrappers.getOrNull(position)?.spanSize ?: 1
@@ -184,9 +461,13 @@ open class SmartRecyclerAdapter
      */
     @UiThread
     fun removeItem(position: Int) {
+        if (deferWhileReordering { removeItem(position) }) {
+            return
+        }
         wrappers.removeAt(position)
+        wrappersIndex.onWrappersRemoved(position, 1)
         if (shouldNotifyBeCalled) {
-            notifyItemRemoved(position)
+            listUpdateCallback.onRemoved(position, 1)
         }
     }
 
@@ -196,10 +477,14 @@ open class SmartRecyclerAdapter
      */
     @UiThread
     fun removeAll() {
+        if (deferWhileReordering { removeAll() }) {
+            return
+        }
         val initialSize = wrappers.size
         wrappers.clear()
+        wrappersIndex.invalidate()
         if (shouldNotifyBeCalled) {
-            notifyItemRangeRemoved(0, initialSize)
+            listUpdateCallback.onRemoved(0, initialSize)
         }
     }
 
@@ -224,10 +509,13 @@ open class SmartRecyclerAdapter
      */
     @UiThread
     fun addItem(position: Int, item: SmartRecyclerViewWrapper<*>) {
+        if (deferWhileReordering { addItem(position, item) }) {
+            return
+        }
         wrappers.add(position, item)
-        addWrapperTypeToDictionary(item)
+        wrappersIndex.onWrappersInserted(wrappers, position, 1)
         if (shouldNotifyBeCalled) {
-            notifyItemInserted(position)
+            listUpdateCallback.onInserted(position, 1)
         }
     }
 
@@ -251,16 +539,17 @@ open class SmartRecyclerAdapter
      */
     @UiThread
     fun addAll(position: Int, wrappersToAdd: List<SmartRecyclerViewWrapper<*>>?) {
+        if (deferWhileReordering { addAll(position, wrappersToAdd) }) {
+            return
+        }
         wrappersToAdd
                 ?.takeIf { it.isNotEmpty() }
                 ?.also { newWrappers ->
                     if (position >= 0 && position <= wrappers.size) {
-                        for (item in newWrappers) {
-                            addWrapperTypeToDictionary(item)
-                        }
                         wrappers.addAll(position, newWrappers)
+                        wrappersIndex.onWrappersInserted(wrappers, position, newWrappers.size)
                         if (shouldNotifyBeCalled) {
-                            notifyItemRangeInserted(position, newWrappers.size)
+                            listUpdateCallback.onInserted(position, newWrappers.size)
                         }
                     }
                 }
@@ -294,56 +583,135 @@ open class SmartRecyclerAdapter
     fun updateWrappers(newWrappers: List<SmartRecyclerViewWrapper<*>>?,
                        removeType: UpdateType?,
                        comparisonType: ComparisonType?) {
-        newWrappers?.toMutableList()?.also { newWrappersList ->
-            when (removeType) {
-                UpdateType.REMOVE_OLD_DATA_AT_ONCE -> removeAll()
-                UpdateType.REMOVE_OLD_DATA_ONE_BY_ONE -> {
-                    val oldWrapperToRemove: MutableList<SmartRecyclerViewWrapper<*>> = ArrayList()
-                    oldWrapperToRemove.addAll(wrappers)
-                    for (smartRecyclerViewWrapper in oldWrapperToRemove) {
-                        removeItem(getItemPosition(smartRecyclerViewWrapper.getId(),
-                                smartRecyclerViewWrapper.businessObject?.javaClass,
-                                smartRecyclerViewWrapper.javaClass, comparisonType))
-                    }
+        if (deferWhileReordering { updateWrappers(newWrappers, removeType, comparisonType) }) {
+            return
+        }
+        newWrappers?.also { newWrappersList ->
+            val keyComparisonType = comparisonType ?: ComparisonType.CLASSIC
+            val wrappersToAdd = when (removeType) {
+                UpdateType.REMOVE_OLD_DATA_AT_ONCE, UpdateType.REMOVE_OLD_DATA_ONE_BY_ONE -> {
+                    removeAll()
+                    newWrappersList
                 }
-                UpdateType.IGNORE_NEW_DUPLICATES -> {
-                    val wrapperToRemove: MutableList<SmartRecyclerViewWrapper<*>> = ArrayList()
-                    for (item in newWrappersList) {
-                        if (contains(item.getId(), item.businessObject?.javaClass, item.javaClass, comparisonType)) {
-                            wrapperToRemove.add(item)
-                        }
-                    }
-                    newWrappersList.removeAll(wrapperToRemove)
+                UpdateType.IGNORE_NEW_DUPLICATES -> newWrappersList.filterNot { item ->
+                    contains(item.getId(), item.businessObject?.javaClass, item.javaClass, keyComparisonType)
                 }
-                UpdateType.REMOVE_OLD_DUPLICATES -> for (wrapper in newWrappersList) {
-                    val businessObjectId = wrapper.getId()
-                    val businessObjectType: Class<*>? = wrapper.businessObject?.javaClass
-                    val wrapperType: Class<out SmartRecyclerViewWrapper<*>> = wrapper.javaClass
-                    if (contains(businessObjectId, businessObjectType, wrapperType, comparisonType)) {
-                        removeItem(getItemPosition(businessObjectId, businessObjectType, wrapperType, comparisonType))
-                    }
+                UpdateType.REMOVE_OLD_DUPLICATES -> {
+                    removeOldDuplicates(newWrappersList, keyComparisonType)
+                    newWrappersList
                 }
-                UpdateType.REPLACE_DUPLICATES -> {
-                    val replacedWrappersToRemove: MutableList<SmartRecyclerViewWrapper<*>> = ArrayList()
-                    for (wrapper in newWrappersList) {
-                        val businessObjectId = wrapper.getId()
-                        val businessObjectType: Class<*>? = wrapper.businessObject?.javaClass
-                        val wrapperType: Class<out SmartRecyclerViewWrapper<*>> = wrapper.javaClass
-                        if (contains(businessObjectId, businessObjectType, wrapperType, comparisonType)) {
-                            val position = getItemPosition(businessObjectId, businessObjectType, wrapperType, comparisonType)
-                            set(position, wrapper)
-                            replacedWrappersToRemove.add(wrapper)
-                        }
-                    }
-                    newWrappersList.removeAll(replacedWrappersToRemove)
+                UpdateType.REPLACE_DUPLICATES -> replaceDuplicates(newWrappersList, keyComparisonType)
+                UpdateType.NONE -> newWrappersList
+                else -> newWrappersList
+            }
+            addAll(wrappersToAdd)
+        }
+    }
+
+    /**
+     * Removes, for each new wrapper, the first current wrapper which matches it according to the `comparisonType`.
+     * The new wrappers are counted by key in a single pass, and the current wrappers are then filtered in a single
+     * pass, the removals being notified by ranges.
+     */
+    private fun removeOldDuplicates(newWrappers: List<SmartRecyclerViewWrapper<*>>, comparisonType: ComparisonType) {
+        if (wrappers.isEmpty() || newWrappers.isEmpty()) {
+            return
+        }
+        val newWrappersCount = ComparisonKeyedMap(comparisonType)
+        for (wrapper in newWrappers) {
+            newWrappersCount.increment(wrapper.getId(), wrapper.businessObject?.javaClass, wrapper.javaClass, 1)
+        }
+        val removedPositions = BooleanArray(wrappers.size)
+        var firstRemovedPosition = -1
+        for (position in wrappers.indices) {
+            val wrapper = wrappers[position]
+            val businessObjectID = wrappersIndex.idAt(wrappers, position)
+            val businessObjectType = wrapper.businessObject?.javaClass
+            if (businessObjectID != -1L && newWrappersCount.get(businessObjectID, businessObjectType, wrapper.javaClass, 0) > 0) {
+                newWrappersCount.increment(businessObjectID, businessObjectType, wrapper.javaClass, -1)
+                removedPositions[position] = true
+                if (firstRemovedPosition == -1) {
+                    firstRemovedPosition = position
                 }
-                UpdateType.NONE -> {
+            }
+        }
+        if (firstRemovedPosition == -1) {
+            return
+        }
+        var keptCount = firstRemovedPosition
+        for (position in firstRemovedPosition until wrappers.size) {
+            if (removedPositions[position].not()) {
+                wrappers[keptCount++] = wrappers[position]
+            }
+        }
+        wrappers.subList(keptCount, wrappers.size).clear()
+        for (position in removedPositions.size - 1 downTo firstRemovedPosition) {
+            if (removedPositions[position]) {
+                wrappersIndex.onWrappersRemoved(position, 1)
+            }
+        }
+        if (shouldNotifyBeCalled) {
+            var end = removedPositions.size
+            while (end > firstRemovedPosition) {
+                if (removedPositions[end - 1]) {
+                    var start = end - 1
+                    while (start > firstRemovedPosition && removedPositions[start - 1]) {
+                        start--
+                    }
+                    listUpdateCallback.onRemoved(start, end - start)
+                    end = start
+                } else {
+                    end--
                 }
-                else -> {
+            }
+        }
+    }
+
+    /**
+     * Replaces in place the first current wrapper which matches each new wrapper according to the `comparisonType`.
+     * As a replaced wrapper keeps the same key, all the positions can be looked up before any replacement.
+     *
+     * @return the new wrappers which did not replace any current wrapper
+     */
+    private fun replaceDuplicates(newWrappers: List<SmartRecyclerViewWrapper<*>>,
+                                  comparisonType: ComparisonType): List<SmartRecyclerViewWrapper<*>> {
+        if (wrappers.isEmpty() || newWrappers.isEmpty()) {
+            return newWrappers
+        }
+        val replacedPositions = IntArray(newWrappers.size)
+        for (index in newWrappers.indices) {
+            val wrapper = newWrappers[index]
+            replacedPositions[index] = getItemPosition(wrapper.getId(), wrapper.businessObject?.javaClass, wrapper.javaClass, comparisonType)
+        }
+        val changedPositions = BooleanArray(wrappers.size)
+        val remainingWrappers = ArrayList<SmartRecyclerViewWrapper<*>>(newWrappers.size)
+        for (index in newWrappers.indices) {
+            val wrapper = newWrappers[index]
+            val position = replacedPositions[index]
+            if (position == -1) {
+                remainingWrappers.add(wrapper)
+            } else {
+                wrappers[position] = wrapper
+                wrappersIndex.onWrapperReplaced(wrappers, position)
+                changedPositions[position] = true
+            }
+        }
+        if (shouldNotifyBeCalled) {
+            var start = 0
+            while (start < changedPositions.size) {
+                if (changedPositions[start]) {
+                    var end = start + 1
+                    while (end < changedPositions.size && changedPositions[end]) {
+                        end++
+                    }
+                    listUpdateCallback.onChanged(start, end - start, null)
+                    start = end
+                } else {
+                    start++
                 }
             }
-            addAll(newWrappersList)
         }
+        return remainingWrappers
     }
 
     /**
@@ -353,12 +721,8 @@ open class SmartRecyclerAdapter
      * @param businessObjectID The unique identifier of an object
      * @return true if the adapter as an item with the same identifier, false otherwise
      */
-    operator fun contains(businessObjectID: Long): Boolean {
-        return wrappers
-                .takeIf { businessObjectID != -1L }
-                ?.any { it.getId() == businessObjectID }
-                ?: false
-    }
+    operator fun contains(businessObjectID: Long): Boolean =
+            getItemPosition(businessObjectID) != -1
 
     /**
      * Allows you to know if an adapter contains a specific object.
@@ -370,20 +734,8 @@ open class SmartRecyclerAdapter
      * @return true if the adapter as an item with the same identifier and other parameters depending on comparisonType, false otherwise
      */
     fun contains(businessObjectID: Long, businessObjectType: Class<*>?, wrapperType: Class<*>,
-                 comparisonType: ComparisonType?): Boolean {
-        return wrappers
-                .takeIf { businessObjectID != -1L }
-                ?.any {
-                    val businessObject = it.businessObject
-                    when (comparisonType) {
-                        ComparisonType.CLASSIC -> businessObjectID == it.getId()
-                        ComparisonType.BUSINESS_OBJECT_TYPE -> businessObjectID == it.getId() && businessObjectType == businessObject?.javaClass
-                        ComparisonType.WRAPPER_TYPE -> businessObjectID == it.getId() && wrapperType == it.javaClass
-                        ComparisonType.BUSINESS_OBJECT_AND_WRAPPER_TYPE -> businessObjectID == it.getId() && businessObjectType == businessObject?.javaClass && wrapperType == it.javaClass
-                        else -> businessObjectID == it.getId()
-                    }
-                } ?: false
-    }
+                 comparisonType: ComparisonType?): Boolean =
+            getItemPosition(businessObjectID, businessObjectType, wrapperType, comparisonType) != -1
 
     /**
      * Allows you to recover the business object used by the adapter.
@@ -400,11 +752,8 @@ open class SmartRecyclerAdapter
      * @param businessObjectID The unique identifier of the object
      * @return the object if found, null otherwise
      */
-    fun getItemWrapper(businessObjectID: Long): SmartRecyclerViewWrapper<*>? {
-        return wrappers
-                .takeIf { businessObjectID != -1L }
-                ?.firstOrNull { businessObjectID == it.getId() }
-    }
+    fun getItemWrapper(businessObjectID: Long): SmartRecyclerViewWrapper<*>? =
+            wrappers.getOrNull(getItemPosition(businessObjectID))
 
     /**
      * Allows you to get a specific wrapper via its unique identifier.
@@ -415,28 +764,8 @@ open class SmartRecyclerAdapter
      * @return the object if found, null otherwise
      */
     fun getItemWrapper(businessObjectID: Long, businessObjectType: Class<*>,
-                       wrapperType: Class<*>, comparisonType: ComparisonType?): SmartRecyclerViewWrapper<*>? {
-        if (wrappers.isNotEmpty() && businessObjectID != -1L) {
-            for (index in wrappers.indices) {
-                val areEqual: Boolean
-                val wrapper = wrappers[index]
-                val businessObject = wrapper.businessObject
-                areEqual = when (comparisonType) {
-                    ComparisonType.CLASSIC -> businessObjectID == getItemId(index)
-                    ComparisonType.BUSINESS_OBJECT_TYPE -> businessObjectID == getItemId(
-                            index) && businessObjectType == businessObject?.javaClass
-                    ComparisonType.WRAPPER_TYPE -> businessObjectID == getItemId(index) && wrapperType == wrapper.javaClass
-                    ComparisonType.BUSINESS_OBJECT_AND_WRAPPER_TYPE -> businessObjectID == getItemId(
-                            index) && businessObjectType == businessObject?.javaClass && wrapperType == wrapper.javaClass
-                    else -> businessObjectID == getItemId(index)
-                }
-                if (areEqual) {
-                    return wrappers[index]
-                }
-            }
-        }
-        return null
-    }
+                       wrapperType: Class<*>, comparisonType: ComparisonType?): SmartRecyclerViewWrapper<*>? =
+            wrappers.getOrNull(getItemPosition(businessObjectID, businessObjectType, wrapperType, comparisonType))
 
     /**
      * Allows you to get a specific object position via its unique identifier.
@@ -444,12 +773,12 @@ open class SmartRecyclerAdapter
      * @param businessObjectID The unique identifier of the object
      * @return the object position if found, -1 otherwise
      */
-    fun getItemPosition(businessObjectID: Long): Int {
-        return wrappers
-                .takeIf { businessObjectID != -1L }
-                ?.indexOfFirst {
-                    it.getId() == businessObjectID
-                } ?: -1
+    open fun getItemPosition(businessObjectID: Long): Int {
+        return if (businessObjectID != -1L) {
+            wrappersIndex.positionOf(wrappers, businessObjectID)
+        } else {
+            -1
+        }
     }
 
     /**
@@ -460,30 +789,40 @@ open class SmartRecyclerAdapter
      * @param wrapperType        The wrapper type
      * @return the object position if found, -1 otherwise
      */
-    fun getItemPosition(businessObjectID: Long, businessObjectType: Class<*>?, wrapperType: Class<*>,
-                        comparisonType: ComparisonType?): Int {
-        if (wrappers.isNotEmpty() && businessObjectID != -1L) {
-            for (index in wrappers.indices) {
-                val areEqual: Boolean
-                val wrapper = wrappers[index]
-                val businessObject = wrapper.businessObject
-                areEqual = when (comparisonType) {
-                    ComparisonType.CLASSIC -> businessObjectID == getItemId(index)
-                    ComparisonType.BUSINESS_OBJECT_TYPE -> businessObjectID == getItemId(
-                            index) && businessObjectType == businessObject?.javaClass
-                    ComparisonType.WRAPPER_TYPE -> businessObjectID == getItemId(index) && wrapperType == wrapper.javaClass
-                    ComparisonType.BUSINESS_OBJECT_AND_WRAPPER_TYPE -> businessObjectID == getItemId(
-                            index) && businessObjectType == businessObject?.javaClass && wrapperType == wrapper.javaClass
-                    else -> businessObjectID == getItemId(index)
-                }
-                if (areEqual) {
-                    return index
-                }
-            }
+    open fun getItemPosition(businessObjectID: Long, businessObjectType: Class<*>?, wrapperType: Class<*>,
+                             comparisonType: ComparisonType?): Int {
+        return if (wrappers.isNotEmpty() && businessObjectID != -1L) {
+            wrappersIndex.positionOf(wrappers, businessObjectID, businessObjectType, wrapperType,
+                    comparisonType ?: ComparisonType.CLASSIC)
+        } else {
+            -1
         }
-        return -1
     }
 
+    /**
+     * @return the number of sections, i.e. of wrappers implementing [SmartSectionHeader]
+     */
+    open fun getSectionCount(): Int =
+            wrappersIndex.sectionCount(wrappers)
+
+    /**
+     * Allows you to get the section a position belongs to, in `O(log n)` time once the sections are indexed.
+     *
+     * @param position The position of a wrapper
+     * @return the index of the last [SmartSectionHeader] at or before that position, -1 if there is none
+     */
+    open fun getSectionForPosition(position: Int): Int =
+            if (position >= 0 && position < wrappers.size) wrappersIndex.sectionOf(wrappers, position) else -1
+
+    /**
+     * Allows you to get the position of the header of a section.
+     *
+     * @param section The index of the section
+     * @return the position of its [SmartSectionHeader] wrapper, -1 if there is no such section
+     */
+    open fun getPositionForSection(section: Int): Int =
+            wrappersIndex.sectionPosition(wrappers, section)
+
     /**
      * Replaces the element at the specified location in this List with the specified object. This operation does not change the size of the List.
      *
@@ -491,12 +830,29 @@ open class SmartRecyclerAdapter
      * @param item     the object to insert.
      * @return Returns the previous element at the index.
      */
-    operator fun set(position: Int, item: SmartRecyclerViewWrapper<*>): SmartRecyclerViewWrapper<*>? {
+    operator fun set(position: Int, item: SmartRecyclerViewWrapper<*>): SmartRecyclerViewWrapper<*>? =
+            set(position, item, null)
+
+    /**
+     * Works like [set], the change being notified with the given payload, which is handed over to
+     * [SmartRecyclerAttributes.onBusinessObjectPartiallyUpdated].
+     *
+     * @param position the index at which to put the specified object.
+     * @param item     the object to insert.
+     * @param payload  the payload of the change, or `null` for a full bind.
+     * @return Returns the previous element at the index.
+     */
+    fun set(position: Int, item: SmartRecyclerViewWrapper<*>, payload: Any?): SmartRecyclerViewWrapper<*>? {
+        if (reorderSession != null) {
+            val wrapper = wrappers.getOrNull(position)
+            deferWhileReordering { set(position, item, payload) }
+            return wrapper
+        }
         if (wrappers.isNotEmpty() && position >= 0 && position <= wrappers.size) {
-            addWrapperTypeToDictionary(item)
             val wrapper = wrappers.set(position, item)
+            wrappersIndex.onWrapperReplaced(wrappers, position)
             if (shouldNotifyBeCalled) {
-                notifyItemChanged(position)
+                listUpdateCallback.onChanged(position, 1, payload)
             }
             return wrapper
         }
@@ -511,24 +867,138 @@ open class SmartRecyclerAdapter
      * @param toIndex   The final position of the wrapper to move
      */
     fun moveWrapper(fromIndex: Int, toIndex: Int) {
+        if (deferWhileReordering { moveWrapper(fromIndex, toIndex) }) {
+            return
+        }
         if (fromIndex >= 0 && fromIndex < wrappers.size && toIndex >= 0 && toIndex < wrappers.size) {
             wrappers.getOrNull(fromIndex)?.also { wrapperToMove ->
                 wrappers.removeAt(fromIndex)
                 wrappers.add(toIndex, wrapperToMove)
+                wrappersIndex.onWrapperMoved(fromIndex, toIndex)
                 if (shouldNotifyBeCalled) {
-                    notifyItemMoved(fromIndex, toIndex)
+                    listUpdateCallback.onMoved(fromIndex, toIndex)
                 }
             }
         }
     }
 
-    private fun addWrapperTypeToDictionary(wrapper: SmartRecyclerViewWrapper<*>) {
-        val wrapperType = wrapper.getType()
-        if (viewTypeAttributesDictionary[wrapperType] == null) {
-            viewTypeAttributesDictionary.append(wrapperType, wrapper)
+    /**
+     * Starts dragging the wrapper at the given position: until [commitReorder] or [cancelReorder] is called, the moves
+     * requested through [reorderTo] are only applied virtually, in constant time, and notified, the wrappers being moved
+     * once on commit.
+     * The edits of the wrappers requested in the meantime, through the methods of the adapter or by a diff, are deferred
+     * and applied in order once the reorder ends.
+     * It MUST be used on the UI thread.
+     *
+     * @param position The position of the dragged wrapper
+     */
+    @UiThread
+    fun beginReorder(position: Int) {
+        check(reorderSession == null) { "A reorder is already in progress" }
+        if (position >= 0 && position < wrappers.size) {
+            reorderSession = SmartReorderSession(wrappers, position).also { wrappers = it }
         }
     }
 
+    /**
+     * Moves the dragged wrapper to the given position, and notifies the move.
+     * It MUST be used on the UI thread.
+     *
+     * @param position The new position of the dragged wrapper
+     */
+    @UiThread
+    fun reorderTo(position: Int) {
+        val session = reorderSession ?: return
+        if (position >= 0 && position < wrappers.size && position != session.toPosition) {
+            val previousPosition = session.toPosition
+            session.toPosition = position
+            wrappersIndex.onWrapperMoved(previousPosition, position)
+            listUpdateCallback.onMoved(previousPosition, position)
+        }
+    }
+
+    /**
+     * Drops the dragged wrapper at its current position, by moving it once in the wrappers, then notifies the
+     * [onWrapperMovedListener] if its position has changed.
+     * It MUST be used on the UI thread.
+     */
+    @UiThread
+    fun commitReorder() {
+        val session = reorderSession ?: return
+        reorderSession = null
+        wrappers = session.commit()
+        if (session.fromPosition != session.toPosition) {
+            onWrapperMovedListener?.onWrapperMoved(session.fromPosition, session.toPosition, wrappers[session.toPosition].getId())
+        }
+        applyEditsPendingReorder()
+    }
+
+    /**
+     * Moves the dragged wrapper back to its initial position, and notifies the move, without notifying the
+     * [onWrapperMovedListener].
+     * It MUST be used on the UI thread.
+     */
+    @UiThread
+    fun cancelReorder() {
+        val session = reorderSession ?: return
+        reorderTo(session.fromPosition)
+        reorderSession = null
+        wrappers = session.commit()
+        applyEditsPendingReorder()
+    }
+
+    /**
+     * Defers the given edit of the wrappers until the reorder in progress ends, if any.
+     * Every method of a subclass which modifies the [wrappers] must start with it.
+     *
+     * @param edit The edit to run once the reorder ends, usually a call to the method itself
+     * @return true if a reorder is in progress and the edit has been deferred, false otherwise
+     */
+    protected fun deferWhileReordering(edit: () -> Unit): Boolean {
+        if (reorderSession == null) {
+            return false
+        }
+        editsPendingReorder.add(edit)
+        return true
+    }
+
+    private fun applyEditsPendingReorder() {
+        // An edit may start another reorder, in which case the remaining ones wait for it to end
+        while (reorderSession == null && editsPendingReorder.isNotEmpty()) {
+            editsPendingReorder.poll()?.invoke()
+        }
+    }
+
+    /**
+     * Forgets the positions indexed by identifier, which will be computed again on the next lookup.
+     * It has to be called when the [wrappers] list is modified directly, or when the identifier of a wrapper held by
+     * the adapter changes.
+     */
+    protected fun invalidateWrappersIndex() =
+            wrappersIndex.invalidate()
+
+    /**
+     * Notifies that the whole list of wrappers has changed, or records it if a batch is in progress.
+     */
+    protected fun notifyWrappersChanged() {
+        if (batchDepth > 0) {
+            notificationLog.onDataSetChanged()
+        } else {
+            notifyDataSetChanged()
+        }
+    }
+
+    /**
+     * @return the wrapper at the position whose view type has just been requested, which creates the views of the given
+     * view type when no [com.smartnsoft.smartrecyclerview.wrapper.SmartViewFactory] is registered for it
+     */
+    private fun getWrapperOfViewType(viewType: Int): SmartRecyclerViewWrapper<*> {
+        return wrappers.getOrNull(viewTypePositions.getOrElse(viewType) { -1 })?.takeIf { it.getType() == viewType }
+                ?: throw IllegalStateException("No SmartViewFactory is registered for the "
+                        + "${SmartViewTypeRegistry.getWrapperClass(viewType).name} class, and the view type of none of its "
+                        + "wrappers has been requested")
+    }
+
     companion object {
         /**
          * Allows you to know if the given wrapper list contains a specific id.
@@ -0,0 +1,201 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.adapter
+
+import androidx.recyclerview.widget.ListUpdateCallback
+import androidx.recyclerview.widget.RecyclerView
+
+/**
+ * Records the notifications of a [SmartRecyclerAdapter] batch, so that they can be dispatched at once when the batch
+ * is committed.
+ *
+ * Each new operation is merged with the previous one whenever possible:
+ *  * consecutive or overlapping insertions become a single range insertion,
+ *  * consecutive removals become a single range removal,
+ *  * overlapping or adjacent changes with the same payload become a single range change,
+ *  * a change or a removal of items which have just been inserted is absorbed by that insertion.
+ *
+ * @since 2026.10.18
+ */
+internal class SmartRecyclerNotificationLog : ListUpdateCallback {
+
+    private var types = IntArray(INITIAL_CAPACITY)
+
+    private var positions = IntArray(INITIAL_CAPACITY)
+
+    private var counts = IntArray(INITIAL_CAPACITY)
+
+    private val payloads = ArrayList<Any?>()
+
+    private var size = 0
+
+    private var isDataSetChanged = false
+
+    fun isEmpty(): Boolean = size == 0 && isDataSetChanged.not()
+
+    override fun onInserted(position: Int, count: Int) {
+        if (count <= 0 || isDataSetChanged) {
+            return
+        }
+        if (lastType() == TYPE_INSERT && position >= lastPosition() && position <= lastPosition() + lastCount()) {
+            counts[size - 1] += count
+            return
+        }
+        append(TYPE_INSERT, position, count, null)
+    }
+
+    override fun onRemoved(position: Int, count: Int) {
+        if (count <= 0 || isDataSetChanged) {
+            return
+        }
+        when (lastType()) {
+            TYPE_REMOVE -> {
+                if (position == lastPosition()) {
+                    counts[size - 1] += count
+                    return
+                } else if (position + count == lastPosition()) {
+                    positions[size - 1] = position
+                    counts[size - 1] += count
+                    return
+                }
+            }
+            TYPE_INSERT -> {
+                if (position >= lastPosition() && position + count <= lastPosition() + lastCount()) {
+                    counts[size - 1] -= count
+                    if (counts[size - 1] == 0) {
+                        removeLast()
+                    }
+                    return
+                }
+            }
+        }
+        append(TYPE_REMOVE, position, count, null)
+    }
+
+    override fun onChanged(position: Int, count: Int, payload: Any?) {
+        if (count <= 0 || isDataSetChanged) {
+            return
+        }
+        when (lastType()) {
+            TYPE_CHANGE -> {
+                val lastPosition = lastPosition()
+                val lastEnd = lastPosition + lastCount()
+                if (payloads[size - 1] === payload && position <= lastEnd && position + count >= lastPosition) {
+                    positions[size - 1] = Math.min(position, lastPosition)
+                    counts[size - 1] = Math.max(position + count, lastEnd) - positions[size - 1]
+                    return
+                }
+            }
+            TYPE_INSERT -> {
+                if (position >= lastPosition() && position + count <= lastPosition() + lastCount()) {
+                    return
+                }
+            }
+        }
+        append(TYPE_CHANGE, position, count, payload)
+    }
+
+    override fun onMoved(fromPosition: Int, toPosition: Int) {
+        if (fromPosition == toPosition || isDataSetChanged) {
+            return
+        }
+        append(TYPE_MOVE, fromPosition, toPosition, null)
+    }
+
+    /**
+     * Replaces every recorded operation by a single [RecyclerView.Adapter.notifyDataSetChanged], and ignores the
+     * following ones.
+     */
+    fun onDataSetChanged() {
+        clear()
+        isDataSetChanged = true
+    }
+
+    /**
+     * Dispatches the recorded operations to the given adapter, then clears the log.
+     */
+    fun dispatchTo(adapter: RecyclerView.Adapter<*>) {
+        if (isDataSetChanged) {
+            adapter.notifyDataSetChanged()
+        } else {
+            for (index in 0 until size) {
+                when (types[index]) {
+                    TYPE_INSERT -> adapter.notifyItemRangeInserted(positions[index], counts[index])
+                    TYPE_REMOVE -> adapter.notifyItemRangeRemoved(positions[index], counts[index])
+                    TYPE_CHANGE -> adapter.notifyItemRangeChanged(positions[index], counts[index], payloads[index])
+                    TYPE_MOVE -> adapter.notifyItemMoved(positions[index], counts[index])
+                }
+            }
+        }
+        clear()
+    }
+
+    fun clear() {
+        size = 0
+        payloads.clear()
+        isDataSetChanged = false
+    }
+
+    private fun lastType(): Int = if (size > 0) types[size - 1] else TYPE_NONE
+
+    private fun lastPosition(): Int = positions[size - 1]
+
+    private fun lastCount(): Int = counts[size - 1]
+
+    private fun append(type: Int, position: Int, count: Int, payload: Any?) {
+        if (size == types.size) {
+            types = types.copyOf(size * 2)
+            positions = positions.copyOf(size * 2)
+            counts = counts.copyOf(size * 2)
+        }
+        types[size] = type
+        positions[size] = position
+        counts[size] = count
+        payloads.add(payload)
+        size++
+    }
+
+    private fun removeLast() {
+        size--
+        payloads.removeAt(size)
+    }
+
+    companion object {
+
+        private const val INITIAL_CAPACITY = 8
+
+        private const val TYPE_NONE = 0
+
+        private const val TYPE_INSERT = 1
+
+        private const val TYPE_REMOVE = 2
+
+        private const val TYPE_CHANGE = 3
+
+        /**
+         * For a move, the count column holds the destination position.
+         */
+        private const val TYPE_MOVE = 4
+
+    }
+
+}
@@ -0,0 +1,301 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.adapter
+
+import com.smartnsoft.smartrecyclerview.adapter.SmartRecyclerAdapter.ComparisonType
+import com.smartnsoft.smartrecyclerview.collection.SlotPositionList
+import com.smartnsoft.smartrecyclerview.wrapper.SmartRecyclerViewWrapper
+import com.smartnsoft.smartrecyclerview.wrapper.SmartSectionHeader
+
+/**
+ * Maps the identifiers of the wrappers held by a [SmartRecyclerAdapter] to their first position, so that the
+ * lookups by identifier do not have to scan the whole list.
+ *
+ * The identifier index used by [ComparisonType.CLASSIC] is always maintained. The indexes keyed by the identifier
+ * and the business object type and/or the wrapper type are only created once a lookup requires them.
+ *
+ * Each position is given a slot of a [SlotPositionList], which keeps designating the same wrapper while wrappers are
+ * inserted, removed or moved before it, and the maps are keyed by slot instead of position. Every mutation is
+ * therefore applied in `O(log n)` per inserted, removed or moved wrapper, without indexing the following wrappers
+ * again, and a position is computed from its slot in `O(log n)` when it is looked up. A key shared by several wrappers
+ * only counts its occurrences, its first position being found by scanning the slots, since duplicates are unusual.
+ * The index is built on the first lookup, and built again after [invalidate].
+ *
+ * The section headers, i.e. the [SmartSectionHeader] wrappers, are the marked slots, so that the section of a
+ * position and the position of a section are found in `O(log n)` as well.
+ *
+ * @since 2026.10.18
+ */
+internal class SmartRecyclerWrapperIndex {
+
+    private val positionMaps = arrayOfNulls<ComparisonKeyedMap>(ComparisonType.values().size)
+
+    private val slots = SlotPositionList()
+
+    private var ids = LongArray(INITIAL_CAPACITY)
+
+    private var businessObjectTypes = arrayOfNulls<Class<*>>(INITIAL_CAPACITY)
+
+    private var wrapperTypes = arrayOfNulls<Class<*>>(INITIAL_CAPACITY)
+
+    /**
+     * Whether the key of a slot is stored in the maps, which is no longer the case once its wrapper is removed.
+     */
+    private var keyed = BooleanArray(INITIAL_CAPACITY)
+
+    private var isBuilt = false
+
+    init {
+        positionMaps[ComparisonType.CLASSIC.ordinal] = ComparisonKeyedMap(ComparisonType.CLASSIC)
+    }
+
+    /**
+     * @return the first position of the wrapper with the given identifier, or `-1` if there is none
+     */
+    fun positionOf(wrappers: List<SmartRecyclerViewWrapper<*>>, businessObjectID: Long): Int =
+            positionOf(wrappers, businessObjectID, null, null, ComparisonType.CLASSIC)
+
+    /**
+     * @return the first position of the wrapper matching the given identifier and types according to the
+     * `comparisonType`, or `-1` if there is none
+     */
+    fun positionOf(wrappers: List<SmartRecyclerViewWrapper<*>>, businessObjectID: Long, businessObjectType: Class<*>?,
+                   wrapperType: Class<*>?, comparisonType: ComparisonType): Int {
+        ensureBuilt(wrappers)
+        val positionMap = positionMaps[comparisonType.ordinal] ?: enable(comparisonType)
+        val value = positionMap.get(businessObjectID, businessObjectType, wrapperType, ABSENT)
+        return when {
+            value == ABSENT -> -1
+            value >= 0 -> slots.positionOf(value)
+            else -> {
+                val position = slots.indexOfFirst {
+                    keyed[it] && ids[it] == businessObjectID && matches(comparisonType, it, businessObjectType, wrapperType)
+                }
+                if (value == UNRESOLVED_SINGLE && position != -1) {
+                    positionMap.put(businessObjectID, businessObjectType, wrapperType, slots.slotAt(position))
+                }
+                position
+            }
+        }
+    }
+
+    /**
+     * @return the identifier of the wrapper at the given position, without calling its [SmartRecyclerViewWrapper.getId]
+     * method when that position is indexed
+     */
+    fun idAt(wrappers: List<SmartRecyclerViewWrapper<*>>, position: Int): Long {
+        ensureBuilt(wrappers)
+        val slot = slots.slotAt(position)
+        return if (keyed[slot]) ids[slot] else wrappers[position].getId()
+    }
+
+    /**
+     * @return the number of section headers
+     */
+    fun sectionCount(wrappers: List<SmartRecyclerViewWrapper<*>>): Int {
+        ensureBuilt(wrappers)
+        return slots.markedCount
+    }
+
+    /**
+     * @return the index of the section the given position belongs to, i.e. of the last section header at or before
+     * that position, or `-1` if there is none
+     */
+    fun sectionOf(wrappers: List<SmartRecyclerViewWrapper<*>>, position: Int): Int {
+        ensureBuilt(wrappers)
+        return slots.markedCountBefore(position + 1) - 1
+    }
+
+    /**
+     * @return the position of the header of the given section, or `-1` if there is no such section
+     */
+    fun sectionPosition(wrappers: List<SmartRecyclerViewWrapper<*>>, section: Int): Int {
+        ensureBuilt(wrappers)
+        return if (section >= 0 && section < slots.markedCount) slots.positionOfMarked(section) else -1
+    }
+
+    /**
+     * Must be called once `itemCount` wrappers have been inserted at the given position.
+     */
+    fun onWrappersInserted(wrappers: List<SmartRecyclerViewWrapper<*>>, positionStart: Int, itemCount: Int) {
+        if (isBuilt) {
+            for (position in positionStart until positionStart + itemCount) {
+                key(slots.insert(position), wrappers[position])
+            }
+        }
+    }
+
+    /**
+     * Must be called once `itemCount` wrappers have been removed from the given position.
+     */
+    fun onWrappersRemoved(positionStart: Int, itemCount: Int) {
+        if (isBuilt) {
+            for (index in 0 until itemCount) {
+                unkey(slots.removeAt(positionStart))
+            }
+        }
+    }
+
+    /**
+     * Must be called once the wrapper at the given position has been replaced.
+     */
+    fun onWrapperReplaced(wrappers: List<SmartRecyclerViewWrapper<*>>, position: Int) {
+        if (isBuilt) {
+            val slot = slots.slotAt(position)
+            val wrapper = wrappers[position]
+            if (keyed[slot] && ids[slot] == wrapper.getId()
+                    && businessObjectTypes[slot] == wrapper.businessObject?.javaClass
+                    && wrapperTypes[slot] == wrapper.javaClass) {
+                slots.setMarked(slot, wrapper is SmartSectionHeader)
+                return
+            }
+            unkey(slot)
+            key(slot, wrapper)
+        }
+    }
+
+    /**
+     * Must be called once a wrapper has been moved from `fromIndex` to `toIndex`.
+     */
+    fun onWrapperMoved(fromIndex: Int, toIndex: Int) {
+        if (isBuilt) {
+            slots.move(fromIndex, toIndex)
+        }
+    }
+
+    /**
+     * Forgets the whole index, which is built again on the next lookup.
+     */
+    fun invalidate() {
+        isBuilt = false
+    }
+
+    private fun ensureBuilt(wrappers: List<SmartRecyclerViewWrapper<*>>) {
+        if (isBuilt && slots.size == wrappers.size) {
+            return
+        }
+        for (positionMap in positionMaps) {
+            positionMap?.clear()
+        }
+        slots.clear()
+        keyed.fill(false)
+        businessObjectTypes.fill(null)
+        wrapperTypes.fill(null)
+        for (position in wrappers.indices) {
+            key(slots.insert(position), wrappers[position])
+        }
+        isBuilt = true
+    }
+
+    private fun enable(comparisonType: ComparisonType): ComparisonKeyedMap {
+        val positionMap = ComparisonKeyedMap(comparisonType)
+        positionMaps[comparisonType.ordinal] = positionMap
+        for (slot in keyed.indices) {
+            if (keyed[slot]) {
+                addOccurrence(positionMap, slot)
+            }
+        }
+        return positionMap
+    }
+
+    private fun key(slot: Int, wrapper: SmartRecyclerViewWrapper<*>) {
+        if (slot >= ids.size) {
+            val capacity = Math.max(slot + 1, ids.size * 2)
+            ids = ids.copyOf(capacity)
+            businessObjectTypes = businessObjectTypes.copyOf(capacity)
+            wrapperTypes = wrapperTypes.copyOf(capacity)
+            keyed = keyed.copyOf(capacity)
+        }
+        ids[slot] = wrapper.getId()
+        businessObjectTypes[slot] = wrapper.businessObject?.javaClass
+        wrapperTypes[slot] = wrapper.javaClass
+        keyed[slot] = true
+        for (positionMap in positionMaps) {
+            positionMap?.also { addOccurrence(it, slot) }
+        }
+        slots.setMarked(slot, wrapper is SmartSectionHeader)
+    }
+
+    private fun unkey(slot: Int) {
+        if (slot < keyed.size && keyed[slot]) {
+            for (positionMap in positionMaps) {
+                positionMap?.also { removeOccurrence(it, slot) }
+            }
+            keyed[slot] = false
+            businessObjectTypes[slot] = null
+            wrapperTypes[slot] = null
+        }
+        if (slots.isMarked(slot)) {
+            slots.setMarked(slot, false)
+        }
+    }
+
+    /**
+     * The value of a key is the slot of its only occurrence, [UNRESOLVED_SINGLE] when it has a single occurrence
+     * whose slot is unknown, or the opposite of its number of occurrences when it has several.
+     */
+    private fun addOccurrence(positionMap: ComparisonKeyedMap, slot: Int) {
+        val id = ids[slot]
+        val businessObjectType = businessObjectTypes[slot]
+        val wrapperType = wrapperTypes[slot]
+        val value = positionMap.get(id, businessObjectType, wrapperType, ABSENT)
+        positionMap.put(id, businessObjectType, wrapperType, when {
+            value == ABSENT -> slot
+            value >= 0 || value == UNRESOLVED_SINGLE -> -2
+            else -> value - 1
+        })
+    }
+
+    private fun removeOccurrence(positionMap: ComparisonKeyedMap, slot: Int) {
+        val id = ids[slot]
+        val businessObjectType = businessObjectTypes[slot]
+        val wrapperType = wrapperTypes[slot]
+        val value = positionMap.get(id, businessObjectType, wrapperType, ABSENT)
+        when {
+            value >= 0 || value == UNRESOLVED_SINGLE -> positionMap.remove(id, businessObjectType, wrapperType)
+            value == -2 -> positionMap.put(id, businessObjectType, wrapperType, UNRESOLVED_SINGLE)
+            value != ABSENT -> positionMap.put(id, businessObjectType, wrapperType, value + 1)
+        }
+    }
+
+    private fun matches(comparisonType: ComparisonType, slot: Int, businessObjectType: Class<*>?,
+                        wrapperType: Class<*>?): Boolean {
+        return when (comparisonType) {
+            ComparisonType.CLASSIC -> true
+            ComparisonType.BUSINESS_OBJECT_TYPE -> businessObjectTypes[slot] == businessObjectType
+            ComparisonType.WRAPPER_TYPE -> wrapperTypes[slot] == wrapperType
+            ComparisonType.BUSINESS_OBJECT_AND_WRAPPER_TYPE ->
+                businessObjectTypes[slot] == businessObjectType && wrapperTypes[slot] == wrapperType
+        }
+    }
+
+    companion object {
+
+        private const val INITIAL_CAPACITY = 16
+
+        private const val ABSENT = -1
+
+        private const val UNRESOLVED_SINGLE = Int.MIN_VALUE
+
+    }
+
+}
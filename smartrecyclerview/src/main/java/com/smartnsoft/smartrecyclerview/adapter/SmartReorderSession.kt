@@ -0,0 +1,75 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.adapter
+
+import com.smartnsoft.smartrecyclerview.wrapper.SmartRecyclerViewWrapper
+
+/**
+ * The wrappers of a [SmartRecyclerAdapter] while one of them is being dragged: the dragged wrapper is virtually
+ * displayed at [toPosition], the wrappers in between being virtually shifted, without modifying the underlying list
+ * until [commit] is called.
+ *
+ * @since 2026.10.18
+ */
+internal class SmartReorderSession(
+        private val source: MutableList<SmartRecyclerViewWrapper<*>>,
+        val fromPosition: Int
+) : AbstractMutableList<SmartRecyclerViewWrapper<*>>() {
+
+    var toPosition = fromPosition
+
+    override val size: Int
+        get() = source.size
+
+    override fun get(index: Int): SmartRecyclerViewWrapper<*> =
+            source[sourceIndexOf(index)]
+
+    override fun add(index: Int, element: SmartRecyclerViewWrapper<*>) =
+            throw IllegalStateException("The wrappers cannot be modified while a reorder is in progress")
+
+    override fun removeAt(index: Int): SmartRecyclerViewWrapper<*> =
+            throw IllegalStateException("The wrappers cannot be modified while a reorder is in progress")
+
+    override fun set(index: Int, element: SmartRecyclerViewWrapper<*>): SmartRecyclerViewWrapper<*> =
+            throw IllegalStateException("The wrappers cannot be modified while a reorder is in progress")
+
+    /**
+     * Moves the dragged wrapper in the underlying list.
+     *
+     * @return the underlying list
+     */
+    fun commit(): MutableList<SmartRecyclerViewWrapper<*>> {
+        if (fromPosition != toPosition) {
+            source.add(toPosition, source.removeAt(fromPosition))
+        }
+        return source
+    }
+
+    private fun sourceIndexOf(index: Int): Int =
+            when {
+                index == toPosition -> fromPosition
+                fromPosition < toPosition && index >= fromPosition && index < toPosition -> index + 1
+                toPosition < fromPosition && index > toPosition && index <= fromPosition -> index - 1
+                else -> index
+            }
+
+}
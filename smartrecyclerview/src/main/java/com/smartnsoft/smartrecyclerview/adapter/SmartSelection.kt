@@ -0,0 +1,83 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.adapter
+
+import com.smartnsoft.smartrecyclerview.collection.LongHashSet
+
+/**
+ * The selection state of the items of a [SmartSelectorRecyclerAdapter], by item identifier.
+ *
+ * The identifiers are stored in a primitive hash set, which holds either the selected items, or, once every item has
+ * been selected, the items which have been deselected since, so that selecting all the items is done in constant time.
+ *
+ * @since 2026.10.18
+ */
+internal class SmartSelection {
+
+    private val ids = LongHashSet()
+
+    /**
+     * When true, [ids] holds the deselected items, every other item being selected.
+     */
+    var isInverted = false
+        private set
+
+    fun isSelected(id: Long): Boolean =
+            ids.contains(id) != isInverted
+
+    /**
+     * @return true if the selection state of the item has changed, false otherwise
+     */
+    fun setSelected(id: Long, isSelected: Boolean): Boolean =
+            if (isSelected != isInverted) ids.add(id) else ids.remove(id)
+
+    fun selectAll() {
+        ids.clear()
+        isInverted = true
+    }
+
+    fun clear() {
+        ids.clear()
+        isInverted = false
+    }
+
+    /**
+     * @return the selected identifiers when the selection is not inverted, the deselected ones otherwise
+     */
+    fun toLongArray(): LongArray =
+            ids.toLongArray()
+
+    /**
+     * Replaces the selection.
+     *
+     * @param ids        The selected identifiers if `isInverted` is false, the deselected ones otherwise
+     * @param isInverted Whether the selection is inverted
+     */
+    fun set(ids: LongArray, isInverted: Boolean) {
+        this.ids.clear()
+        for (id in ids) {
+            this.ids.add(id)
+        }
+        this.isInverted = isInverted
+    }
+
+}
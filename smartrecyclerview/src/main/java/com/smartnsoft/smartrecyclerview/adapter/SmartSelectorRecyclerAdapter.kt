@@ -22,10 +22,16 @@
 package com.smartnsoft.smartrecyclerview.adapter
 
 import android.content.Context
-import com.smartnsoft.smartrecyclerview.attributes.SmartRecyclerAttributes
-import java.util.*
+import android.os.Bundle
+import androidx.annotation.UiThread
+import com.smartnsoft.smartrecyclerview.collection.LongSetCodec
 
 /**
+ * A [SmartRecyclerAdapter] whose items can be selected by identifier, when the multiple selection is enabled.
+ *
+ * The selection changes are notified with the [SmartRecyclerPayload.SELECTION] payload only, the bulk changes being
+ * coalesced into range notifications.
+ *
  * @author Raphael Kiffer
  * @since 2016.01.12
  */
@@ -36,32 +42,157 @@ class SmartSelectorRecyclerAdapter
         private val isMultipleSelectionEnabled: Boolean = false
 ) : SmartRecyclerAdapter(context) {
 
-    private val selectableMap: MutableMap<Long, Boolean?> = HashMap()
+    private val selection = SmartSelection()
 
-    override fun onBindViewHolder(smartRecyclerAttributes: SmartRecyclerAttributes<*>, position: Int) {
-        if (isMultipleSelectionEnabled.not()) {
-            super.onBindViewHolder(smartRecyclerAttributes, position)
-        } else {
-            val wrapper = wrappers[position]
-            wrapper.businessObject?.also { businessObject ->
-                val isSelected = selectableMap[wrapper.getId()] ?: false
-                smartRecyclerAttributes.uncheckedUpdate(businessObject, isSelected)
+    override fun isItemSelected(position: Int): Boolean =
+            if (isMultipleSelectionEnabled.not()) {
+                super.isItemSelected(position)
+            } else {
+                selection.isSelected(wrappers[position].getId())
             }
+
+    /**
+     * @param businessObjectId The identifier of the item
+     * @return true if the item is selected, false otherwise
+     */
+    fun getItemSelectedState(businessObjectId: Long): Boolean =
+            selection.isSelected(businessObjectId)
+
+    fun toggleItemSelectedState(businessObjectId: Long) {
+        setItemSelectedState(businessObjectId, selection.isSelected(businessObjectId).not())
+    }
+
+    fun setItemSelectedState(businessObjectId: Long, isSelected: Boolean) {
+        if (selection.setSelected(businessObjectId, isSelected)) {
+            notifySelectionChanged(businessObjectId)
         }
     }
 
-    fun toggleItemSelectedState(businessObjectId: Long) {
-        val isSelected = selectableMap[businessObjectId]
-        if (isSelected != null) {
-            setItemSelectedState(businessObjectId, isSelected.not())
-        } else {
-            setItemSelectedState(businessObjectId, true)
+    /**
+     * Sets the selection state of several items, the changes being notified at once.
+     * It MUST be used on the UI thread.
+     *
+     * @param businessObjectIds The identifiers of the items
+     * @param isSelected        Whether the items are selected
+     */
+    @UiThread
+    fun setItemsSelectedState(businessObjectIds: LongArray, isSelected: Boolean) {
+        beginBatch {
+            for (businessObjectId in businessObjectIds) {
+                if (selection.setSelected(businessObjectId, isSelected)) {
+                    notifySelectionChanged(businessObjectId)
+                }
+            }
         }
     }
 
-    fun setItemSelectedState(businessObjectId: Long, isSelected: Boolean) {
-        selectableMap[businessObjectId] = isSelected
-        notifyItemChanged(getItemPosition(businessObjectId))
+    /**
+     * Works like [setItemsSelectedState].
+     */
+    @UiThread
+    fun setItemsSelectedState(businessObjectIds: Collection<Long>, isSelected: Boolean) {
+        setItemsSelectedState(businessObjectIds.toLongArray(), isSelected)
+    }
+
+    /**
+     * Sets the selection state of the items between two positions, the changes being notified at once.
+     * It MUST be used on the UI thread.
+     *
+     * @param fromPosition The position of the first item, inclusive
+     * @param toPosition   The position of the last item, inclusive
+     * @param isSelected   Whether the items are selected
+     */
+    @UiThread
+    fun setRangeSelectedState(fromPosition: Int, toPosition: Int, isSelected: Boolean) {
+        val startPosition = Math.max(0, Math.min(fromPosition, toPosition))
+        val endPosition = Math.min(itemCount - 1, Math.max(fromPosition, toPosition))
+        beginBatch {
+            for (position in startPosition..endPosition) {
+                if (selection.setSelected(wrappers[position].getId(), isSelected)) {
+                    listUpdateCallback.onChanged(position, 1, SmartRecyclerPayload.SELECTION)
+                }
+            }
+        }
+    }
+
+    /**
+     * Selects every item, including the items added afterwards, in constant time.
+     * It MUST be used on the UI thread.
+     */
+    @UiThread
+    fun selectAll() {
+        selection.selectAll()
+        notifyAllSelectionChanged()
+    }
+
+    /**
+     * Deselects every item.
+     * It MUST be used on the UI thread.
+     */
+    @UiThread
+    fun clearSelection() {
+        selection.clear()
+        notifyAllSelectionChanged()
+    }
+
+    /**
+     * @return the identifiers of the selected items held by the adapter, in the order of the adapter
+     */
+    fun getSelectedItemIds(): LongArray {
+        val selectedIds = LongArray(itemCount)
+        var selectedCount = 0
+        for (wrapper in wrappers) {
+            val id = wrapper.getId()
+            if (selection.isSelected(id)) {
+                selectedIds[selectedCount++] = id
+            }
+        }
+        return selectedIds.copyOf(selectedCount)
+    }
+
+    /**
+     * Saves the selection into the given bundle, the identifiers being compactly encoded, so that large selections can
+     * be restored through [onRestoreInstanceState] after a configuration change or a process death.
+     *
+     * @param outState The bundle in which to save the selection
+     */
+    fun onSaveInstanceState(outState: Bundle) {
+        outState.putByteArray(SELECTION_IDS_KEY, LongSetCodec.encode(selection.toLongArray()))
+        outState.putBoolean(SELECTION_INVERTED_KEY, selection.isInverted)
+    }
+
+    /**
+     * Restores the selection saved by [onSaveInstanceState], and notifies the change.
+     * It MUST be used on the UI thread.
+     *
+     * @param savedInstanceState The bundle in which the selection has been saved, if any
+     */
+    @UiThread
+    fun onRestoreInstanceState(savedInstanceState: Bundle?) {
+        val encodedIds = savedInstanceState?.getByteArray(SELECTION_IDS_KEY) ?: return
+        selection.set(LongSetCodec.decode(encodedIds), savedInstanceState.getBoolean(SELECTION_INVERTED_KEY))
+        notifyAllSelectionChanged()
+    }
+
+    private fun notifySelectionChanged(businessObjectId: Long) {
+        val position = getItemPosition(businessObjectId)
+        if (position != -1) {
+            listUpdateCallback.onChanged(position, 1, SmartRecyclerPayload.SELECTION)
+        }
+    }
+
+    private fun notifyAllSelectionChanged() {
+        if (itemCount > 0) {
+            listUpdateCallback.onChanged(0, itemCount, SmartRecyclerPayload.SELECTION)
+        }
+    }
+
+    companion object {
+
+        private const val SELECTION_IDS_KEY = "com.smartnsoft.smartrecyclerview.adapter.SmartSelectorRecyclerAdapter.selectionIds"
+
+        private const val SELECTION_INVERTED_KEY = "com.smartnsoft.smartrecyclerview.adapter.SmartSelectorRecyclerAdapter.isSelectionInverted"
+
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,145 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.adapter
+
+import android.os.Handler
+import android.os.HandlerThread
+import android.os.Looper
+import android.os.Process
+import android.util.SparseIntArray
+import androidx.annotation.UiThread
+import androidx.recyclerview.widget.RecyclerView
+import com.smartnsoft.smartrecyclerview.recyclerview.SmartRecycledViewPool
+import com.smartnsoft.smartrecyclerview.wrapper.SmartRecyclerViewWrapper
+import com.smartnsoft.smartrecyclerview.wrapper.SmartViewTypeRegistry
+import java.util.*
+
+/**
+ * Creates view holders ahead of time and puts them in the [RecyclerView.RecycledViewPool] of a [RecyclerView], so
+ * that the first items of a wrapper type are displayed without being inflated while scrolling.
+ *
+ * The views are created through the [com.smartnsoft.smartrecyclerview.wrapper.SmartViewFactory] registered in the
+ * [SmartViewTypeRegistry]: on a background thread having its own [Looper] when the wrapper class implements
+ * [com.smartnsoft.smartrecyclerview.wrapper.SmartAsyncInflatable], on the UI thread otherwise, one view per message,
+ * so that a frame is never delayed by more than one inflation.
+ *
+ * The view holders requested but not put in the pool yet are counted per pool and view type, so that calling
+ * [preInflate] again before they are created does not request them twice.
+ *
+ * The maximum number of recycled views of a pool is only ever raised. A [SmartRecycledViewPool] exposes its maximums,
+ * but another [RecyclerView.RecycledViewPool] does not: the maximum of a view type is then assumed to be the
+ * [DEFAULT_MAX_RECYCLED_VIEWS] of the RecyclerView until it has been raised here, so that a larger maximum set directly
+ * on such a pool beforehand must be set again after pre-inflating.
+ *
+ * @since 2026.10.18
+ */
+@Suppress("unused")
+object SmartViewPreInflater {
+
+    private val inflaterHandler: Handler by lazy {
+        val inflaterThread = HandlerThread("SmartRecyclerView-inflater", Process.THREAD_PRIORITY_BACKGROUND)
+        inflaterThread.start()
+        Handler(inflaterThread.looper)
+    }
+
+    private val mainThreadHandler = Handler(Looper.getMainLooper())
+
+    /**
+     * For each pool, the number of view holders of each view type which are being created, only accessed on the UI
+     * thread.
+     */
+    private val pendingCounts = WeakHashMap<RecyclerView.RecycledViewPool, SparseIntArray>()
+
+    /**
+     * For each pool, the maximum number of recycled views of each view type set by [preInflate], only accessed on the
+     * UI thread.
+     */
+    private val maxRecycledViews = WeakHashMap<RecyclerView.RecycledViewPool, SparseIntArray>()
+
+    /**
+     * The default maximum number of recycled views of each view type of a [RecyclerView.RecycledViewPool].
+     */
+    const val DEFAULT_MAX_RECYCLED_VIEWS = 5
+
+    /**
+     * Ensures that the pool of the given [RecyclerView] holds at least the given number of view holders of a wrapper
+     * class, and raises the maximum number of recycled views of this type accordingly, if it is lower.
+     * A [com.smartnsoft.smartrecyclerview.wrapper.SmartViewFactory] must have been registered for the wrapper class.
+     * It MUST be used on the UI thread.
+     *
+     * @param recyclerView The recycler view, whose pool receives the view holders
+     * @param adapter      The adapter which creates the view holders
+     * @param wrapperClass The class of the wrappers
+     * @param count        The number of view holders to hold in the pool
+     */
+    @UiThread
+    fun preInflate(recyclerView: RecyclerView, adapter: SmartRecyclerAdapter,
+                   wrapperClass: Class<out SmartRecyclerViewWrapper<*>>, count: Int) {
+        val viewType = SmartViewTypeRegistry.getViewType(wrapperClass)
+        requireNotNull(SmartViewTypeRegistry.getViewFactory(viewType)) {
+            "A SmartViewFactory must be registered for the ${wrapperClass.name} class in order to pre-inflate its views"
+        }
+        val recycledViewPool = recyclerView.recycledViewPool
+        val pendingCountsByViewType = pendingCounts[recycledViewPool]
+                ?: SparseIntArray().also { pendingCounts[recycledViewPool] = it }
+        val pendingCount = pendingCountsByViewType.get(viewType)
+        val missingCount = count - recycledViewPool.getRecycledViewCount(viewType) - pendingCount
+        if (missingCount <= 0) {
+            return
+        }
+        raiseMaxRecycledViews(recycledViewPool, viewType, count)
+        pendingCountsByViewType.put(viewType, pendingCount + missingCount)
+        val handler = if (SmartViewTypeRegistry.isAsyncInflationSafe(viewType)) inflaterHandler else mainThreadHandler
+        for (index in 0 until missingCount) {
+            handler.post {
+                val viewHolder = adapter.createViewHolder(recyclerView, viewType)
+                if (handler === mainThreadHandler) {
+                    onViewHolderCreated(recycledViewPool, pendingCountsByViewType, viewType, viewHolder)
+                } else {
+                    mainThreadHandler.post { onViewHolderCreated(recycledViewPool, pendingCountsByViewType, viewType, viewHolder) }
+                }
+            }
+        }
+    }
+
+    private fun raiseMaxRecycledViews(recycledViewPool: RecyclerView.RecycledViewPool, viewType: Int, count: Int) {
+        if (recycledViewPool is SmartRecycledViewPool) {
+            if (count > recycledViewPool.getMaxRecycledViews(viewType)) {
+                recycledViewPool.setMaxRecycledViews(viewType, count)
+            }
+            return
+        }
+        val maxRecycledViewsByViewType = maxRecycledViews[recycledViewPool]
+                ?: SparseIntArray().also { maxRecycledViews[recycledViewPool] = it }
+        if (count > maxRecycledViewsByViewType.get(viewType, DEFAULT_MAX_RECYCLED_VIEWS)) {
+            maxRecycledViewsByViewType.put(viewType, count)
+            recycledViewPool.setMaxRecycledViews(viewType, count)
+        }
+    }
+
+    private fun onViewHolderCreated(recycledViewPool: RecyclerView.RecycledViewPool, pendingCountsByViewType: SparseIntArray,
+                                    viewType: Int, viewHolder: RecyclerView.ViewHolder) {
+        pendingCountsByViewType.put(viewType, pendingCountsByViewType.get(viewType) - 1)
+        recycledViewPool.putRecycledView(viewHolder)
+    }
+
+}
@@ -0,0 +1,78 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.adapter
+
+import com.smartnsoft.smartrecyclerview.collection.LongIntHashMap
+import com.smartnsoft.smartrecyclerview.wrapper.SmartDiffUtil
+import com.smartnsoft.smartrecyclerview.wrapper.SmartRecyclerViewWrapper
+
+/**
+ * Reuses the wrappers already held by an adapter for the items of a new list which did not change.
+ *
+ * A new wrapper is replaced by the old wrapper having the same identifier and the same class when their contents are
+ * the same, i.e. when they have the same [SmartDiffUtil.diffUtilHashCode] if they both implement [SmartDiffUtil], or
+ * equal business objects otherwise. Each old wrapper is reused at most once.
+ *
+ * @since 2026.10.18
+ */
+internal object SmartWrapperReconciler {
+
+    /**
+     * @param oldWrappers The wrappers held by the adapter
+     * @param newWrappers The wrappers about to replace them
+     * @return the new wrappers, in which the unchanged items are represented by their old wrapper
+     */
+    fun reconcile(oldWrappers: List<SmartRecyclerViewWrapper<*>>, newWrappers: List<SmartRecyclerViewWrapper<*>>): List<SmartRecyclerViewWrapper<*>> {
+        if (oldWrappers.isEmpty()) {
+            return newWrappers
+        }
+        val oldPositions = LongIntHashMap(oldWrappers.size)
+        for (position in oldWrappers.indices) {
+            oldPositions.putIfAbsent(oldWrappers[position].getId(), position)
+        }
+        val reconciledWrappers = ArrayList<SmartRecyclerViewWrapper<*>>(newWrappers.size)
+        for (newWrapper in newWrappers) {
+            val id = newWrapper.getId()
+            val oldPosition = oldPositions.get(id)
+            val oldWrapper = if (oldPosition != LongIntHashMap.NO_VALUE) oldWrappers[oldPosition] else null
+            if (oldWrapper != null && oldWrapper !== newWrapper && isSameContent(oldWrapper, newWrapper)) {
+                oldPositions.remove(id)
+                reconciledWrappers.add(oldWrapper)
+            } else {
+                reconciledWrappers.add(newWrapper)
+            }
+        }
+        return reconciledWrappers
+    }
+
+    private fun isSameContent(oldWrapper: SmartRecyclerViewWrapper<*>, newWrapper: SmartRecyclerViewWrapper<*>): Boolean {
+        if (oldWrapper.javaClass != newWrapper.javaClass) {
+            return false
+        }
+        return if (oldWrapper is SmartDiffUtil && newWrapper is SmartDiffUtil) {
+            oldWrapper.diffUtilHashCode == newWrapper.diffUtilHashCode
+        } else {
+            oldWrapper.businessObject == newWrapper.businessObject
+        }
+    }
+
+}
@@ -0,0 +1,59 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.adapter
+
+import com.smartnsoft.smartrecyclerview.collection.ChunkedList
+import com.smartnsoft.smartrecyclerview.wrapper.SmartRecyclerViewWrapper
+
+/**
+ * The data structures which may hold the wrappers of a [SmartRecyclerAdapter], see [SmartRecyclerAdapter.wrapperStorage].
+ *
+ * @since 2026.10.18
+ */
+enum class SmartWrapperStorage {
+
+    /**
+     * An [ArrayList], whose accesses are the fastest, but whose insertions, removals and moves in the middle of the
+     * list shift all the following wrappers: it suits most lists, which are small or modified at their end.
+     */
+    ARRAY_LIST {
+
+        override fun createList(): MutableList<SmartRecyclerViewWrapper<*>> =
+                ArrayList()
+
+    },
+
+    /**
+     * A list of small arrays, whose accesses take `O(log n)` time, and whose insertions, removals and moves in the
+     * middle of the list only shift the wrappers of a small array: it suits long lists frequently modified at
+     * arbitrary positions.
+     */
+    CHUNKED_LIST {
+
+        override fun createList(): MutableList<SmartRecyclerViewWrapper<*>> =
+                ChunkedList()
+
+    };
+
+    internal abstract fun createList(): MutableList<SmartRecyclerViewWrapper<*>>
+
+}
@@ -0,0 +1,116 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.attributes
+
+import android.view.View
+import androidx.recyclerview.widget.LinearLayoutManager
+import androidx.recyclerview.widget.RecyclerView
+import com.smartnsoft.smartrecyclerview.adapter.SmartRecyclerAdapter
+import com.smartnsoft.smartrecyclerview.recyclerview.SmartCarouselState
+import com.smartnsoft.smartrecyclerview.wrapper.SmartRecyclerViewWrapper
+
+/**
+ * The [SmartRecyclerAttributes] of a [com.smartnsoft.smartrecyclerview.wrapper.SmartCarouselRecyclerViewWrapper],
+ * which displays the wrappers of a business object in a horizontal [RecyclerView].
+ *
+ * The inner adapter and layout manager are created once per view holder and reused on each bind, the inner view
+ * holders come from the pool of the [SmartCarouselState], and the scroll state of the carousel is saved by carousel
+ * identifier when the view is rebound or detached, then restored the next time the same carousel is bound.
+ *
+ * A subclass overriding [onBusinessObjectUpdated] must call the super method.
+ *
+ * @param carouselRecyclerView     The inner recycler view
+ * @param carouselState            The state shared by the carousels of the screen
+ * @param initialPrefetchItemCount The number of inner items prefetched before the carousel becomes visible
+ *
+ * @since 2026.10.18
+ */
+@Suppress("unused", "MemberVisibilityCanBePrivate")
+abstract class SmartCarouselRecyclerAttributes<BusinessObjectType>
+@JvmOverloads constructor(
+        view: View,
+        protected val carouselRecyclerView: RecyclerView,
+        private val carouselState: SmartCarouselState,
+        initialPrefetchItemCount: Int = DEFAULT_INITIAL_PREFETCH_ITEM_COUNT
+) : SmartRecyclerAttributes<BusinessObjectType>(view) {
+
+    protected val carouselAdapter = SmartRecyclerAdapter(context, true)
+
+    private val carouselLayoutManager = LinearLayoutManager(context, RecyclerView.HORIZONTAL, false)
+
+    private var carouselId = NO_CAROUSEL_ID
+
+    init {
+        carouselLayoutManager.initialPrefetchItemCount = initialPrefetchItemCount
+        carouselRecyclerView.layoutManager = carouselLayoutManager
+        carouselRecyclerView.setRecycledViewPool(carouselState.recycledViewPool)
+        carouselRecyclerView.adapter = carouselAdapter
+        itemView.addOnAttachStateChangeListener(object : View.OnAttachStateChangeListener {
+            override fun onViewAttachedToWindow(view: View) {
+                // Nothing to do: the scroll state is restored when the carousel is bound
+            }
+
+            override fun onViewDetachedFromWindow(view: View) {
+                saveScrollState()
+            }
+        })
+    }
+
+    override fun onBusinessObjectUpdated(businessObject: BusinessObjectType, isSelected: Boolean) {
+        saveScrollState()
+        carouselId = getCarouselId(businessObject)
+        carouselAdapter.setNewWrapperList(getCarouselWrappers(businessObject))
+        val scrollState = carouselState.getScrollState(carouselId)
+        if (scrollState != null) {
+            carouselLayoutManager.onRestoreInstanceState(scrollState)
+        } else {
+            carouselLayoutManager.scrollToPosition(0)
+        }
+    }
+
+    /**
+     * @param businessObject The business object of the carousel
+     * @return the stable identifier of the carousel, under which its scroll state is saved
+     */
+    protected abstract fun getCarouselId(businessObject: BusinessObjectType): Long
+
+    /**
+     * @param businessObject The business object of the carousel
+     * @return the wrappers displayed by the carousel
+     */
+    protected abstract fun getCarouselWrappers(businessObject: BusinessObjectType): List<SmartRecyclerViewWrapper<*>>
+
+    private fun saveScrollState() {
+        if (carouselId != NO_CAROUSEL_ID) {
+            carouselState.saveScrollState(carouselId, carouselLayoutManager.onSaveInstanceState())
+        }
+    }
+
+    companion object {
+
+        const val DEFAULT_INITIAL_PREFETCH_ITEM_COUNT = 4
+
+        private const val NO_CAROUSEL_ID = Long.MIN_VALUE
+
+    }
+
+}
@@ -24,6 +24,7 @@ package com.smartnsoft.smartrecyclerview.attributes
 import android.content.Context
 import android.view.View
 import androidx.recyclerview.widget.RecyclerView
+import com.smartnsoft.smartrecyclerview.wrapper.SmartChangedFields
 
 /**
  * Is responsible for creating a new [View], which is able to represent the provided business object.
@@ -34,25 +35,136 @@ import androidx.recyclerview.widget.RecyclerView
 abstract class SmartRecyclerAttributes<BusinessObjectType>(view: View) : RecyclerView.ViewHolder(view) {
     var intentFilterCategory: String = ""
 
+    /**
+     * The identifier of the wrapper last bound through the adapter, i.e. its [com.smartnsoft.smartrecyclerview.wrapper.SmartRecyclerViewWrapper.getId],
+     * or `-1` if none has been bound yet.
+     */
     protected var businessObjectIdentifier: Long = -1
 
     protected var context: Context = itemView.context
 
+    /**
+     * The business object last bound through [update], compared by reference so that a new instance is always bound.
+     * It is distinct from the [businessObjectIdentifier], which keeps holding the identifier of the bound wrapper.
+     */
+    private var boundBusinessObject: Any? = null
+
+    private var boundIsSelected = false
+
+    /**
+     * The identifier and content version of the item last bound through the adapter, when its version is known.
+     */
+    private var boundId = 0L
+
+    private var boundContentVersion = NO_CONTENT_VERSION
+
     internal fun uncheckedUpdate(businessObject: Any, isSelected: Boolean) {
         (businessObject as? BusinessObjectType)?.apply {
             onBusinessObjectUpdated(this, isSelected)
         }
+        invalidateBindStamp()
+    }
+
+    /**
+     * Binds the business object, unless the view already displays the same item, i.e. an item with the same
+     * identifier, the same content version and the same selection state. The bind is never skipped when the content
+     * version is [NO_CONTENT_VERSION].
+     *
+     * @return true if the business object has been bound, false if the bind has been skipped
+     */
+    internal fun uncheckedUpdate(businessObject: Any, isSelected: Boolean, id: Long, contentVersion: Long): Boolean {
+        if (contentVersion != NO_CONTENT_VERSION && boundContentVersion == contentVersion && boundId == id && boundIsSelected == isSelected) {
+            return false
+        }
+        uncheckedUpdate(businessObject, isSelected)
+        boundId = id
+        boundContentVersion = contentVersion
+        boundIsSelected = isSelected
+        businessObjectIdentifier = id
+        return true
+    }
+
+    /**
+     * @return true if the view has been updated by [onBusinessObjectPartiallyUpdated], false if a full bind is needed
+     */
+    internal fun uncheckedPartialUpdate(businessObject: Any, isSelected: Boolean, payloads: List<Any>): Boolean {
+        val isUpdated = (businessObject as? BusinessObjectType)?.let { onBusinessObjectPartiallyUpdated(it, isSelected, payloads) } ?: false
+        if (isUpdated) {
+            invalidateBindStamp()
+        }
+        return isUpdated
+    }
+
+    /**
+     * Forgets the item last bound, so that the next bind is never skipped.
+     */
+    internal fun invalidateBindStamp() {
+        boundBusinessObject = null
+        boundContentVersion = NO_CONTENT_VERSION
     }
 
     open fun update(businessObject: BusinessObjectType, isSelected: Boolean) {
-        val businessHashCode = System.identityHashCode(businessObject).toLong()
-        if (businessObjectIdentifier != businessHashCode) {
+        if (boundBusinessObject !== businessObject || boundIsSelected != isSelected) {
             onBusinessObjectUpdated(businessObject, isSelected)
-            businessObjectIdentifier = businessHashCode
+            markAsUpdated(businessObject, isSelected)
         }
     }
 
+    /**
+     * Records the business object bound by [update], so that binding it again is skipped.
+     */
+    protected fun markAsUpdated(businessObject: BusinessObjectType, isSelected: Boolean) {
+        boundBusinessObject = businessObject
+        boundIsSelected = isSelected
+        boundContentVersion = NO_CONTENT_VERSION
+    }
+
+    /**
+     * @return true if [update] would skip the given business object, because it is the one already displayed
+     */
+    protected fun isAlreadyUpdated(businessObject: BusinessObjectType, isSelected: Boolean): Boolean =
+            boundBusinessObject === businessObject && boundIsSelected == isSelected
+
     open fun onBusinessObjectUpdated(businessObject: BusinessObjectType, isSelected: Boolean) {
         // Does not perform any update by default
     }
+
+    /**
+     * Called instead of [onBusinessObjectUpdated] when the item has been notified as changed with payloads, for
+     * instance [com.smartnsoft.smartrecyclerview.adapter.SmartRecyclerPayload.SELECTION] when only its selection state
+     * has changed, or the payload given to [com.smartnsoft.smartrecyclerview.adapter.SmartRecyclerAdapter.set].
+     *
+     * By default, when the payloads only consist of [SmartChangedFields], it calls [onFieldsUpdated].
+     *
+     * @param businessObject The business object
+     * @param isSelected     Whether the item is selected
+     * @param payloads       The payloads of the changes, in the order they were notified
+     * @return true if the view has been updated, false in order to fall back on [onBusinessObjectUpdated]
+     */
+    open fun onBusinessObjectPartiallyUpdated(businessObject: BusinessObjectType, isSelected: Boolean, payloads: List<Any>): Boolean {
+        val changedFields = SmartChangedFields.merge(payloads).singleOrNull() as? SmartChangedFields ?: return false
+        return onFieldsUpdated(businessObject, isSelected, changedFields)
+    }
+
+    /**
+     * Called when only some fields of a [com.smartnsoft.smartrecyclerview.wrapper.SmartFieldDiffUtil] item have changed,
+     * in order to bind again the views of these fields only.
+     *
+     * @param businessObject The business object
+     * @param isSelected     Whether the item is selected
+     * @param changedFields  The fields which have changed
+     * @return true if the view has been updated, false in order to fall back on [onBusinessObjectUpdated], which is
+     * the default behavior
+     */
+    open fun onFieldsUpdated(businessObject: BusinessObjectType, isSelected: Boolean, changedFields: SmartChangedFields): Boolean =
+            false
+
+    companion object {
+
+        /**
+         * The content version of an item whose content cannot be compared, which is therefore always bound.
+         */
+        const val NO_CONTENT_VERSION = Long.MIN_VALUE
+
+    }
 }
\ No newline at end of file
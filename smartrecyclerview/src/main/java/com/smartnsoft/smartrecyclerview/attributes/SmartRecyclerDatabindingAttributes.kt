@@ -35,11 +35,10 @@ abstract class SmartRecyclerDatabindingAttributes<BusinessObjectType>(protected
 
     @CallSuper
     override fun update(businessObject: BusinessObjectType, isSelected: Boolean) {
-        val businessHashCode = System.identityHashCode(businessObject).toLong()
-        if (businessObjectIdentifier != businessHashCode) {
+        if (isAlreadyUpdated(businessObject, isSelected).not()) {
             bindViewModel(businessObject)
             onBusinessObjectUpdated(businessObject, isSelected)
-            businessObjectIdentifier = businessHashCode
+            markAsUpdated(businessObject, isSelected)
         }
     }
 
@@ -0,0 +1,271 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.collection
+
+import java.util.*
+
+/**
+ * A list made of small arrays, the chunks, whose sizes are summed by a Fenwick tree, so that an element is found in
+ * `O(log k)`, `k` being the number of chunks, and inserted or removed in the middle of the list by shifting the
+ * elements of its chunk only, instead of all the following elements like an [ArrayList] does.
+ * A full chunk is split in two, except when appending to the list, which starts a new chunk instead, and a chunk is
+ * merged with its successor once they fit in half a chunk.
+ *
+ * @since 2026.10.18
+ */
+internal class ChunkedList<E>
+@JvmOverloads constructor(
+        private val chunkCapacity: Int = DEFAULT_CHUNK_CAPACITY
+) : AbstractMutableList<E>(), RandomAccess {
+
+    private class Chunk(capacity: Int) {
+
+        val elements = arrayOfNulls<Any>(capacity)
+
+        var size = 0
+
+    }
+
+    private var chunks = arrayOfNulls<Chunk>(INITIAL_CHUNK_COUNT)
+
+    private var chunkCount = 0
+
+    /**
+     * The Fenwick tree of the chunk sizes, 1-based.
+     */
+    private var sizeTree = IntArray(INITIAL_CHUNK_COUNT + 1)
+
+    /**
+     * The chunk of the last lookup and the position of its first element, so that sequential accesses do not search
+     * the tree, or -1.
+     */
+    private var lastChunkIndex = -1
+
+    private var lastChunkStart = 0
+
+    override var size: Int = 0
+        private set
+
+    init {
+        require(chunkCapacity >= 4) { "The chunk capacity must be at least 4" }
+    }
+
+    override fun get(index: Int): E {
+        checkElementIndex(index)
+        val chunkIndex = locate(index)
+        @Suppress("UNCHECKED_CAST")
+        return chunks[chunkIndex]!!.elements[index - lastChunkStart] as E
+    }
+
+    override fun set(index: Int, element: E): E {
+        checkElementIndex(index)
+        val chunk = chunks[locate(index)]!!
+        val offset = index - lastChunkStart
+        @Suppress("UNCHECKED_CAST")
+        val previous = chunk.elements[offset] as E
+        chunk.elements[offset] = element
+        return previous
+    }
+
+    override fun add(index: Int, element: E) {
+        if (index < 0 || index > size) {
+            throw IndexOutOfBoundsException("Index: $index, size: $size")
+        }
+        var chunkIndex: Int
+        var offset: Int
+        if (index == size) {
+            if (chunkCount == 0 || chunks[chunkCount - 1]!!.size == chunkCapacity) {
+                appendChunk()
+            }
+            chunkIndex = chunkCount - 1
+            offset = chunks[chunkIndex]!!.size
+        } else {
+            chunkIndex = locate(index)
+            offset = index - lastChunkStart
+        }
+        var chunk = chunks[chunkIndex]!!
+        if (chunk.size == chunkCapacity) {
+            val half = chunkCapacity / 2
+            val successor = Chunk(chunkCapacity)
+            System.arraycopy(chunk.elements, half, successor.elements, 0, chunkCapacity - half)
+            Arrays.fill(chunk.elements, half, chunkCapacity, null)
+            successor.size = chunkCapacity - half
+            chunk.size = half
+            insertChunk(chunkIndex + 1, successor)
+            if (offset > half) {
+                chunkIndex++
+                offset -= half
+                chunk = successor
+            }
+        }
+        System.arraycopy(chunk.elements, offset, chunk.elements, offset + 1, chunk.size - offset)
+        chunk.elements[offset] = element
+        chunk.size++
+        size++
+        modCount++
+        addToSizeTree(chunkIndex, 1)
+        lastChunkIndex = -1
+    }
+
+    override fun removeAt(index: Int): E {
+        checkElementIndex(index)
+        val chunkIndex = locate(index)
+        val chunk = chunks[chunkIndex]!!
+        val offset = index - lastChunkStart
+        @Suppress("UNCHECKED_CAST")
+        val previous = chunk.elements[offset] as E
+        System.arraycopy(chunk.elements, offset + 1, chunk.elements, offset, chunk.size - offset - 1)
+        chunk.elements[--chunk.size] = null
+        size--
+        modCount++
+        lastChunkIndex = -1
+        if (chunk.size == 0) {
+            removeChunk(chunkIndex)
+        } else if (chunkIndex + 1 < chunkCount && chunk.size + chunks[chunkIndex + 1]!!.size <= chunkCapacity / 2) {
+            val successor = chunks[chunkIndex + 1]!!
+            System.arraycopy(successor.elements, 0, chunk.elements, chunk.size, successor.size)
+            chunk.size += successor.size
+            removeChunk(chunkIndex + 1)
+        } else {
+            addToSizeTree(chunkIndex, -1)
+        }
+        return previous
+    }
+
+    override fun clear() {
+        if (size > 0 || chunkCount > 0) {
+            chunks = arrayOfNulls(INITIAL_CHUNK_COUNT)
+            sizeTree = IntArray(INITIAL_CHUNK_COUNT + 1)
+            chunkCount = 0
+            size = 0
+            modCount++
+            lastChunkIndex = -1
+        }
+    }
+
+    private fun checkElementIndex(index: Int) {
+        if (index < 0 || index >= size) {
+            throw IndexOutOfBoundsException("Index: $index, size: $size")
+        }
+    }
+
+    /**
+     * @return the index of the chunk holding the element at the given position, whose first element position is
+     * stored in [lastChunkStart]
+     */
+    private fun locate(index: Int): Int {
+        if (lastChunkIndex != -1 && index >= lastChunkStart && index < lastChunkStart + chunks[lastChunkIndex]!!.size) {
+            return lastChunkIndex
+        }
+        var chunkIndex = 0
+        var remaining = index
+        var step = Integer.highestOneBit(chunkCount)
+        while (step > 0) {
+            val next = chunkIndex + step
+            if (next <= chunkCount && sizeTree[next] <= remaining) {
+                chunkIndex = next
+                remaining -= sizeTree[next]
+            }
+            step = step shr 1
+        }
+        lastChunkIndex = chunkIndex
+        lastChunkStart = index - remaining
+        return chunkIndex
+    }
+
+    private fun addToSizeTree(chunkIndex: Int, delta: Int) {
+        var node = chunkIndex + 1
+        while (node <= chunkCount) {
+            sizeTree[node] += delta
+            node += node and -node
+        }
+    }
+
+    /**
+     * @return the sum of the sizes of the first `count` chunks
+     */
+    private fun prefixSize(count: Int): Int {
+        var sum = 0
+        var node = count
+        while (node > 0) {
+            sum += sizeTree[node]
+            node -= node and -node
+        }
+        return sum
+    }
+
+    /**
+     * Appends an empty chunk without rebuilding the tree: only its last node is computed, in `O(log k)`, unless the
+     * chunk array has to grow.
+     */
+    private fun appendChunk() {
+        if (chunkCount == chunks.size) {
+            insertChunk(chunkCount, Chunk(chunkCapacity))
+            return
+        }
+        chunks[chunkCount++] = Chunk(chunkCapacity)
+        val node = chunkCount
+        sizeTree[node] = prefixSize(node - 1) - prefixSize(node - (node and -node))
+    }
+
+    private fun insertChunk(chunkIndex: Int, chunk: Chunk) {
+        if (chunkCount == chunks.size) {
+            chunks = chunks.copyOf(chunkCount shl 1)
+            sizeTree = IntArray(chunks.size + 1)
+        }
+        System.arraycopy(chunks, chunkIndex, chunks, chunkIndex + 1, chunkCount - chunkIndex)
+        chunks[chunkIndex] = chunk
+        chunkCount++
+        rebuildSizeTree()
+    }
+
+    private fun removeChunk(chunkIndex: Int) {
+        System.arraycopy(chunks, chunkIndex + 1, chunks, chunkIndex, chunkCount - chunkIndex - 1)
+        chunks[--chunkCount] = null
+        rebuildSizeTree()
+    }
+
+    /**
+     * Rebuilds the Fenwick tree in `O(k)`, which only happens when a chunk is split or removed, i.e. at most once
+     * every `chunkCapacity / 2` modifications of a chunk.
+     */
+    private fun rebuildSizeTree() {
+        for (node in 1..chunkCount) {
+            sizeTree[node] = chunks[node - 1]!!.size
+        }
+        for (node in 1..chunkCount) {
+            val parent = node + (node and -node)
+            if (parent <= chunkCount) {
+                sizeTree[parent] += sizeTree[node]
+            }
+        }
+    }
+
+    companion object {
+
+        const val DEFAULT_CHUNK_CAPACITY = 256
+
+        private const val INITIAL_CHUNK_COUNT = 8
+
+    }
+
+}
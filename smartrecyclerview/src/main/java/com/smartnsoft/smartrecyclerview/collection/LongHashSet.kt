@@ -0,0 +1,171 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.collection
+
+import java.util.*
+
+/**
+ * A hash set of primitive `long` values, which does not box them.
+ * It relies on open addressing with linear probing, like [LongIntHashMap].
+ *
+ * @since 2026.10.18
+ */
+internal class LongHashSet
+@JvmOverloads constructor(
+        initialCapacity: Int = DEFAULT_CAPACITY
+) {
+
+    private var values: LongArray
+
+    private var used: BooleanArray
+
+    private var mask: Int
+
+    private var resizeThreshold: Int
+
+    var size: Int = 0
+        private set
+
+    init {
+        val capacity = tableSizeFor(initialCapacity)
+        values = LongArray(capacity)
+        used = BooleanArray(capacity)
+        mask = capacity - 1
+        resizeThreshold = (capacity * LOAD_FACTOR).toInt()
+    }
+
+    fun isEmpty(): Boolean = size == 0
+
+    operator fun contains(value: Long): Boolean = used[findSlot(value)]
+
+    /**
+     * @return `true` if the value has been added, `false` if it was already present
+     */
+    fun add(value: Long): Boolean {
+        val slot = findSlot(value)
+        if (used[slot]) {
+            return false
+        }
+        values[slot] = value
+        used[slot] = true
+        if (++size > resizeThreshold) {
+            rehash(values.size shl 1)
+        }
+        return true
+    }
+
+    /**
+     * @return `true` if the value has been removed, `false` if it was absent
+     */
+    fun remove(value: Long): Boolean {
+        var slot = findSlot(value)
+        if (used[slot].not()) {
+            return false
+        }
+        // Backward shift deletion, so that no tombstone is needed
+        var next = (slot + 1) and mask
+        while (used[next]) {
+            val ideal = mix(values[next]) and mask
+            if ((next - ideal) and mask >= (next - slot) and mask) {
+                values[slot] = values[next]
+                slot = next
+            }
+            next = (next + 1) and mask
+        }
+        used[slot] = false
+        size--
+        return true
+    }
+
+    fun clear() {
+        if (size > 0) {
+            Arrays.fill(used, false)
+            size = 0
+        }
+    }
+
+    /**
+     * @return the values of the set, in no particular order
+     */
+    fun toLongArray(): LongArray {
+        val array = LongArray(size)
+        var index = 0
+        for (slot in values.indices) {
+            if (used[slot]) {
+                array[index++] = values[slot]
+            }
+        }
+        return array
+    }
+
+    private fun findSlot(value: Long): Int {
+        var slot = mix(value) and mask
+        while (used[slot] && values[slot] != value) {
+            slot = (slot + 1) and mask
+        }
+        return slot
+    }
+
+    private fun rehash(newCapacity: Int) {
+        val oldValues = values
+        val oldUsed = used
+        values = LongArray(newCapacity)
+        used = BooleanArray(newCapacity)
+        mask = newCapacity - 1
+        resizeThreshold = (newCapacity * LOAD_FACTOR).toInt()
+        for (index in oldValues.indices) {
+            if (oldUsed[index]) {
+                var slot = mix(oldValues[index]) and mask
+                while (used[slot]) {
+                    slot = (slot + 1) and mask
+                }
+                values[slot] = oldValues[index]
+                used[slot] = true
+            }
+        }
+    }
+
+    companion object {
+
+        private const val DEFAULT_CAPACITY = 16
+
+        private const val LOAD_FACTOR = 0.6f
+
+        private const val MAXIMUM_CAPACITY = 1 shl 30
+
+        private fun mix(value: Long): Int {
+            val hash = (value xor (value ushr 32)).toInt() * -0x61c88647
+            return hash xor (hash ushr 16)
+        }
+
+        private fun tableSizeFor(expectedSize: Int): Int {
+            val minimumCapacity = (expectedSize / LOAD_FACTOR).toInt() + 1
+            var capacity = DEFAULT_CAPACITY
+            while (capacity < minimumCapacity && capacity < MAXIMUM_CAPACITY) {
+                capacity = capacity shl 1
+            }
+            return capacity
+        }
+
+    }
+
+}
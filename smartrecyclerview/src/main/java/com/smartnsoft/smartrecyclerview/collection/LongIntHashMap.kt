@@ -0,0 +1,216 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.collection
+
+import java.util.*
+
+/**
+ * A hash map from primitive `long` keys to primitive `int` values, which does not box its keys nor its values.
+ * It relies on open addressing with linear probing.
+ *
+ * @since 2026.10.18
+ */
+internal class LongIntHashMap
+@JvmOverloads constructor(
+        initialCapacity: Int = DEFAULT_CAPACITY
+) {
+
+    private var keys: LongArray
+
+    private var values: IntArray
+
+    private var used: BooleanArray
+
+    private var mask: Int
+
+    private var resizeThreshold: Int
+
+    var size: Int = 0
+        private set
+
+    init {
+        val capacity = tableSizeFor(initialCapacity)
+        keys = LongArray(capacity)
+        values = IntArray(capacity)
+        used = BooleanArray(capacity)
+        mask = capacity - 1
+        resizeThreshold = (capacity * LOAD_FACTOR).toInt()
+    }
+
+    fun isEmpty(): Boolean = size == 0
+
+    /**
+     * @return the value associated with the given key, or `defaultValue` if there is none
+     */
+    @JvmOverloads
+    fun get(key: Long, defaultValue: Int = NO_VALUE): Int {
+        val slot = findSlot(key)
+        return if (used[slot]) values[slot] else defaultValue
+    }
+
+    fun containsKey(key: Long): Boolean = used[findSlot(key)]
+
+    /**
+     * Associates the given value to the given key.
+     *
+     * @return the previous value associated with the key, or `NO_VALUE` if there was none
+     */
+    fun put(key: Long, value: Int): Int {
+        val slot = findSlot(key)
+        if (used[slot]) {
+            val previousValue = values[slot]
+            values[slot] = value
+            return previousValue
+        }
+        insertAt(slot, key, value)
+        return NO_VALUE
+    }
+
+    /**
+     * Associates the given value to the given key only if the key is not already present.
+     *
+     * @return `true` if the value has been inserted, `false` otherwise
+     */
+    fun putIfAbsent(key: Long, value: Int): Boolean {
+        val slot = findSlot(key)
+        if (used[slot]) {
+            return false
+        }
+        insertAt(slot, key, value)
+        return true
+    }
+
+    /**
+     * Adds `delta` to the value associated with the given key, an absent key being considered as `0`.
+     *
+     * @return the new value associated with the key
+     */
+    fun increment(key: Long, delta: Int): Int {
+        val slot = findSlot(key)
+        if (used[slot]) {
+            values[slot] += delta
+            return values[slot]
+        }
+        insertAt(slot, key, delta)
+        return delta
+    }
+
+    /**
+     * Removes the given key.
+     *
+     * @return the value which was associated with the key, or `NO_VALUE` if there was none
+     */
+    fun remove(key: Long): Int {
+        var slot = findSlot(key)
+        if (used[slot].not()) {
+            return NO_VALUE
+        }
+        val removedValue = values[slot]
+        // Backward shift deletion, so that no tombstone is needed
+        var next = (slot + 1) and mask
+        while (used[next]) {
+            val ideal = mix(keys[next]) and mask
+            if ((next - ideal) and mask >= (next - slot) and mask) {
+                keys[slot] = keys[next]
+                values[slot] = values[next]
+                slot = next
+            }
+            next = (next + 1) and mask
+        }
+        used[slot] = false
+        size--
+        return removedValue
+    }
+
+    fun clear() {
+        if (size > 0) {
+            Arrays.fill(used, false)
+            size = 0
+        }
+    }
+
+    private fun findSlot(key: Long): Int {
+        var slot = mix(key) and mask
+        while (used[slot] && keys[slot] != key) {
+            slot = (slot + 1) and mask
+        }
+        return slot
+    }
+
+    private fun insertAt(slot: Int, key: Long, value: Int) {
+        keys[slot] = key
+        values[slot] = value
+        used[slot] = true
+        if (++size > resizeThreshold) {
+            rehash(keys.size shl 1)
+        }
+    }
+
+    private fun rehash(newCapacity: Int) {
+        val oldKeys = keys
+        val oldValues = values
+        val oldUsed = used
+        keys = LongArray(newCapacity)
+        values = IntArray(newCapacity)
+        used = BooleanArray(newCapacity)
+        mask = newCapacity - 1
+        resizeThreshold = (newCapacity * LOAD_FACTOR).toInt()
+        for (index in oldKeys.indices) {
+            if (oldUsed[index]) {
+                var slot = mix(oldKeys[index]) and mask
+                while (used[slot]) {
+                    slot = (slot + 1) and mask
+                }
+                keys[slot] = oldKeys[index]
+                values[slot] = oldValues[index]
+                used[slot] = true
+            }
+        }
+    }
+
+    companion object {
+
+        const val NO_VALUE = -1
+
+        private const val DEFAULT_CAPACITY = 16
+
+        private const val LOAD_FACTOR = 0.6f
+
+        private const val MAXIMUM_CAPACITY = 1 shl 30
+
+        private fun mix(key: Long): Int {
+            val hash = (key xor (key ushr 32)).toInt() * -0x61c88647
+            return hash xor (hash ushr 16)
+        }
+
+        private fun tableSizeFor(expectedSize: Int): Int {
+            val minimumCapacity = (expectedSize / LOAD_FACTOR).toInt() + 1
+            var capacity = DEFAULT_CAPACITY
+            while (capacity < minimumCapacity && capacity < MAXIMUM_CAPACITY) {
+                capacity = capacity shl 1
+            }
+            return capacity
+        }
+
+    }
+
+}
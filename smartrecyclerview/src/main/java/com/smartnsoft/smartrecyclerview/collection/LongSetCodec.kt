@@ -0,0 +1,194 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.collection
+
+import java.util.*
+
+/**
+ * Encodes sets of `long` values into compact byte arrays, for instance in order to save them in a
+ * [android.os.Bundle].
+ *
+ * The values are sorted, then written either as variable-length deltas between consecutive values, or as a bitmap
+ * starting at the smallest value when the values are dense enough for the bitmap to be smaller.
+ * Both the encoding and the decoding run in linear time, apart from the sort.
+ *
+ * @since 2026.10.18
+ */
+internal object LongSetCodec {
+
+    private const val DELTA_FORMAT: Byte = 0
+
+    private const val BITMAP_FORMAT: Byte = 1
+
+    private const val MAXIMUM_VAR_LONG_SIZE = 10
+
+    /**
+     * @param values Distinct values, in any order
+     * @return the encoded values
+     */
+    fun encode(values: LongArray): ByteArray {
+        val sortedValues = values.copyOf()
+        Arrays.sort(sortedValues)
+        var deltasSize = 0
+        for (index in 1 until sortedValues.size) {
+            deltasSize += varLongSize(sortedValues[index] - sortedValues[index - 1])
+        }
+        val bitmapSize = if (sortedValues.isEmpty()) -1 else bitmapSize(sortedValues.first(), sortedValues.last())
+        val isBitmap = bitmapSize in 0 until deltasSize
+        val output = Output(1 + 3 * MAXIMUM_VAR_LONG_SIZE + if (isBitmap) bitmapSize else deltasSize)
+        output.writeVarLong(sortedValues.size.toLong())
+        if (sortedValues.isEmpty()) {
+            return output.toByteArray(DELTA_FORMAT)
+        }
+        val first = sortedValues.first()
+        output.writeVarLong(zigZag(first))
+        if (isBitmap) {
+            output.writeVarLong(bitmapSize.toLong())
+            val bitmapOffset = output.size
+            output.skip(bitmapSize)
+            for (value in sortedValues) {
+                val bit = value - first
+                output.setBit(bitmapOffset + (bit ushr 3).toInt(), (bit and 7).toInt())
+            }
+            return output.toByteArray(BITMAP_FORMAT)
+        }
+        for (index in 1 until sortedValues.size) {
+            output.writeVarLong(sortedValues[index] - sortedValues[index - 1])
+        }
+        return output.toByteArray(DELTA_FORMAT)
+    }
+
+    /**
+     * @param bytes Values encoded by [encode]
+     * @return the values, sorted in ascending order
+     */
+    fun decode(bytes: ByteArray): LongArray {
+        val input = Input(bytes, 1)
+        val values = LongArray(input.readVarLong().toInt())
+        if (values.isEmpty()) {
+            return values
+        }
+        val first = unZigZag(input.readVarLong())
+        if (bytes[0] == BITMAP_FORMAT) {
+            val bitmapSize = input.readVarLong().toInt()
+            var count = 0
+            for (byteIndex in 0 until bitmapSize) {
+                val byte = bytes[input.position + byteIndex].toInt()
+                for (bitIndex in 0 until 8) {
+                    if (byte and (1 shl bitIndex) != 0) {
+                        values[count++] = first + (byteIndex.toLong() shl 3) + bitIndex
+                    }
+                }
+            }
+        } else {
+            values[0] = first
+            for (index in 1 until values.size) {
+                values[index] = values[index - 1] + input.readVarLong()
+            }
+        }
+        return values
+    }
+
+    /**
+     * @return the size of a bitmap covering the given range, or -1 if it is too large to be allocated
+     */
+    private fun bitmapSize(first: Long, last: Long): Int {
+        val range = last - first
+        return if (range < 0 || range >= Int.MAX_VALUE.toLong() * 8 - 8) -1 else ((range ushr 3) + 1).toInt()
+    }
+
+    private fun varLongSize(value: Long): Int {
+        var size = 1
+        var remaining = value ushr 7
+        while (remaining != 0L) {
+            size++
+            remaining = remaining ushr 7
+        }
+        return size
+    }
+
+    private fun zigZag(value: Long): Long =
+            (value shl 1) xor (value shr 63)
+
+    private fun unZigZag(value: Long): Long =
+            (value ushr 1) xor -(value and 1)
+
+    private class Output(capacity: Int) {
+
+        private var bytes = ByteArray(capacity)
+
+        /**
+         * The first byte is reserved for the format.
+         */
+        var size = 1
+            private set
+
+        fun writeVarLong(value: Long) {
+            ensureCapacity(size + MAXIMUM_VAR_LONG_SIZE)
+            var remaining = value
+            while (remaining and 0x7FL.inv() != 0L) {
+                bytes[size++] = ((remaining and 0x7F) or 0x80).toByte()
+                remaining = remaining ushr 7
+            }
+            bytes[size++] = remaining.toByte()
+        }
+
+        fun skip(count: Int) {
+            ensureCapacity(size + count)
+            size += count
+        }
+
+        fun setBit(byteIndex: Int, bitIndex: Int) {
+            bytes[byteIndex] = (bytes[byteIndex].toInt() or (1 shl bitIndex)).toByte()
+        }
+
+        fun toByteArray(format: Byte): ByteArray {
+            bytes[0] = format
+            return bytes.copyOf(size)
+        }
+
+        private fun ensureCapacity(capacity: Int) {
+            if (capacity > bytes.size) {
+                bytes = bytes.copyOf(Math.max(capacity, bytes.size shl 1))
+            }
+        }
+
+    }
+
+    private class Input(private val bytes: ByteArray, var position: Int) {
+
+        fun readVarLong(): Long {
+            var value = 0L
+            var shift = 0
+            while (true) {
+                val byte = bytes[position++].toLong()
+                value = value or ((byte and 0x7F) shl shift)
+                if (byte and 0x80 == 0L) {
+                    return value
+                }
+                shift += 7
+            }
+        }
+
+    }
+
+}
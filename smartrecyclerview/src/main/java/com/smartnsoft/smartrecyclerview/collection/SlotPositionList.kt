@@ -0,0 +1,477 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.collection
+
+/**
+ * An ordered sequence of slots, i.e. stable `int` handles which keep designating the same element while the elements
+ * before it are inserted, removed or moved, and whose current position is computed in `O(log k)`, `k` being the
+ * number of chunks.
+ *
+ * Like [ChunkedList], the slots are stored in small arrays, the chunks, whose sizes are summed by a Fenwick tree.
+ * Each slot remembers its chunk and its offset in that chunk, so that its position is the sum of the sizes of the
+ * chunks before its own plus its offset. A second Fenwick tree sums the number of marked slots of each chunk, so that
+ * the marked slots are ranked and found by rank in `O(log k + c)`, `c` being the chunk capacity.
+ *
+ * The slots of the removed elements are recycled, so that the highest slot remains lower than the largest size the
+ * sequence has had.
+ *
+ * @since 2026.10.18
+ */
+internal class SlotPositionList
+@JvmOverloads constructor(
+        private val chunkCapacity: Int = DEFAULT_CHUNK_CAPACITY
+) {
+
+    private class Chunk(capacity: Int) {
+
+        val slots = IntArray(capacity)
+
+        var size = 0
+
+        var markedCount = 0
+
+        /**
+         * The index of the chunk in [chunks].
+         */
+        var index = 0
+
+    }
+
+    private var chunks = arrayOfNulls<Chunk>(INITIAL_CHUNK_COUNT)
+
+    private var chunkCount = 0
+
+    /**
+     * The Fenwick trees of the chunk sizes and of their numbers of marked slots, 1-based.
+     */
+    private var sizeTree = IntArray(INITIAL_CHUNK_COUNT + 1)
+
+    private var markedTree = IntArray(INITIAL_CHUNK_COUNT + 1)
+
+    private var slotChunks = arrayOfNulls<Chunk>(INITIAL_SLOT_COUNT)
+
+    private var slotOffsets = IntArray(INITIAL_SLOT_COUNT)
+
+    private var slotMarks = BooleanArray(INITIAL_SLOT_COUNT)
+
+    private var freeSlots = IntArray(INITIAL_SLOT_COUNT)
+
+    private var freeSlotCount = 0
+
+    private var allocatedSlotCount = 0
+
+    /**
+     * The start position of the chunk found by the last call to [locate].
+     */
+    private var locatedStart = 0
+
+    var size = 0
+        private set
+
+    var markedCount = 0
+        private set
+
+    init {
+        require(chunkCapacity >= 4) { "The chunk capacity must be at least 4" }
+    }
+
+    /**
+     * Inserts a new slot at the given position.
+     *
+     * @return the inserted slot, which is not marked
+     */
+    fun insert(position: Int): Int {
+        if (position < 0 || position > size) {
+            throw IndexOutOfBoundsException("Index: $position, size: $size")
+        }
+        val slot = allocateSlot()
+        attach(slot, position)
+        return slot
+    }
+
+    /**
+     * Removes the slot at the given position, which may then be returned again by [insert].
+     *
+     * @return the removed slot
+     */
+    fun removeAt(position: Int): Int {
+        checkPosition(position)
+        val slot = detach(position)
+        slotMarks[slot] = false
+        freeSlots[freeSlotCount++] = slot
+        return slot
+    }
+
+    /**
+     * Moves the slot at `fromPosition` to `toPosition`, the slot remaining the same.
+     */
+    fun move(fromPosition: Int, toPosition: Int) {
+        checkPosition(fromPosition)
+        checkPosition(toPosition)
+        if (fromPosition != toPosition) {
+            attach(detach(fromPosition), toPosition)
+        }
+    }
+
+    fun slotAt(position: Int): Int {
+        checkPosition(position)
+        val chunk = chunks[locate(position)]!!
+        return chunk.slots[position - locatedStart]
+    }
+
+    /**
+     * @return the current position of the given slot, or `-1` if it has been removed
+     */
+    fun positionOf(slot: Int): Int {
+        val chunk = (if (slot >= 0 && slot < allocatedSlotCount) slotChunks[slot] else null) ?: return -1
+        return prefixSum(sizeTree, chunk.index) + slotOffsets[slot]
+    }
+
+    fun isMarked(slot: Int): Boolean =
+            slotMarks[slot]
+
+    fun setMarked(slot: Int, marked: Boolean) {
+        if (slotMarks[slot] == marked) {
+            return
+        }
+        slotMarks[slot] = marked
+        slotChunks[slot]?.also {
+            val delta = if (marked) 1 else -1
+            it.markedCount += delta
+            markedCount += delta
+            addToTree(markedTree, it.index, delta)
+        }
+    }
+
+    /**
+     * @return the number of marked slots strictly before the given position, which may be equal to [size]
+     */
+    fun markedCountBefore(position: Int): Int {
+        if (position < 0 || position > size) {
+            throw IndexOutOfBoundsException("Index: $position, size: $size")
+        }
+        if (position == size) {
+            return markedCount
+        }
+        val chunkIndex = locate(position)
+        val chunk = chunks[chunkIndex]!!
+        var count = prefixSum(markedTree, chunkIndex)
+        for (offset in 0 until position - locatedStart) {
+            if (slotMarks[chunk.slots[offset]]) {
+                count++
+            }
+        }
+        return count
+    }
+
+    /**
+     * @return the position of the marked slot of the given rank, i.e. preceded by `rank` marked slots
+     */
+    fun positionOfMarked(rank: Int): Int {
+        if (rank < 0 || rank >= markedCount) {
+            throw IndexOutOfBoundsException("Rank: $rank, marked count: $markedCount")
+        }
+        var remaining = rank
+        var chunkIndex = 0
+        var step = Integer.highestOneBit(chunkCount)
+        while (step > 0) {
+            val next = chunkIndex + step
+            if (next <= chunkCount && markedTree[next] <= remaining) {
+                chunkIndex = next
+                remaining -= markedTree[next]
+            }
+            step = step shr 1
+        }
+        val chunk = chunks[chunkIndex]!!
+        for (offset in 0 until chunk.size) {
+            if (slotMarks[chunk.slots[offset]] && remaining-- == 0) {
+                return prefixSum(sizeTree, chunkIndex) + offset
+            }
+        }
+        throw IllegalStateException("The marked slot count is inconsistent")
+    }
+
+    /**
+     * @return the position of the first slot accepted by the given predicate, or `-1` if there is none
+     */
+    fun indexOfFirst(predicate: (slot: Int) -> Boolean): Int {
+        var position = 0
+        for (chunkIndex in 0 until chunkCount) {
+            val chunk = chunks[chunkIndex]!!
+            for (offset in 0 until chunk.size) {
+                if (predicate(chunk.slots[offset])) {
+                    return position + offset
+                }
+            }
+            position += chunk.size
+        }
+        return -1
+    }
+
+    fun clear() {
+        chunks = arrayOfNulls(INITIAL_CHUNK_COUNT)
+        sizeTree = IntArray(INITIAL_CHUNK_COUNT + 1)
+        markedTree = IntArray(INITIAL_CHUNK_COUNT + 1)
+        chunkCount = 0
+        slotChunks.fill(null, 0, allocatedSlotCount)
+        slotMarks.fill(false, 0, allocatedSlotCount)
+        freeSlotCount = 0
+        allocatedSlotCount = 0
+        size = 0
+        markedCount = 0
+    }
+
+    private fun checkPosition(position: Int) {
+        if (position < 0 || position >= size) {
+            throw IndexOutOfBoundsException("Index: $position, size: $size")
+        }
+    }
+
+    private fun allocateSlot(): Int {
+        if (freeSlotCount > 0) {
+            return freeSlots[--freeSlotCount]
+        }
+        if (allocatedSlotCount == slotChunks.size) {
+            val capacity = allocatedSlotCount shl 1
+            slotChunks = slotChunks.copyOf(capacity)
+            slotOffsets = slotOffsets.copyOf(capacity)
+            slotMarks = slotMarks.copyOf(capacity)
+            freeSlots = freeSlots.copyOf(capacity)
+        }
+        return allocatedSlotCount++
+    }
+
+    private fun attach(slot: Int, position: Int) {
+        var chunkIndex: Int
+        var offset: Int
+        if (position == size) {
+            if (chunkCount == 0 || chunks[chunkCount - 1]!!.size == chunkCapacity) {
+                appendChunk()
+            }
+            chunkIndex = chunkCount - 1
+            offset = chunks[chunkIndex]!!.size
+        } else {
+            chunkIndex = locate(position)
+            offset = position - locatedStart
+        }
+        var chunk = chunks[chunkIndex]!!
+        if (chunk.size == chunkCapacity) {
+            val successor = split(chunkIndex)
+            if (offset > chunk.size) {
+                offset -= chunk.size
+                chunkIndex++
+                chunk = successor
+            }
+        }
+        for (index in chunk.size downTo offset + 1) {
+            val shifted = chunk.slots[index - 1]
+            chunk.slots[index] = shifted
+            slotOffsets[shifted] = index
+        }
+        chunk.slots[offset] = slot
+        chunk.size++
+        slotChunks[slot] = chunk
+        slotOffsets[slot] = offset
+        size++
+        addToTree(sizeTree, chunkIndex, 1)
+        if (slotMarks[slot]) {
+            chunk.markedCount++
+            markedCount++
+            addToTree(markedTree, chunkIndex, 1)
+        }
+    }
+
+    private fun detach(position: Int): Int {
+        val chunkIndex = locate(position)
+        val chunk = chunks[chunkIndex]!!
+        val offset = position - locatedStart
+        val slot = chunk.slots[offset]
+        for (index in offset until chunk.size - 1) {
+            val shifted = chunk.slots[index + 1]
+            chunk.slots[index] = shifted
+            slotOffsets[shifted] = index
+        }
+        chunk.size--
+        slotChunks[slot] = null
+        size--
+        if (slotMarks[slot]) {
+            chunk.markedCount--
+            markedCount--
+        }
+        if (chunk.size == 0) {
+            removeChunk(chunkIndex)
+        } else if (chunkIndex + 1 < chunkCount && chunk.size + chunks[chunkIndex + 1]!!.size <= chunkCapacity / 2) {
+            val successor = chunks[chunkIndex + 1]!!
+            for (index in 0 until successor.size) {
+                val merged = successor.slots[index]
+                chunk.slots[chunk.size + index] = merged
+                slotChunks[merged] = chunk
+                slotOffsets[merged] = chunk.size + index
+            }
+            chunk.size += successor.size
+            chunk.markedCount += successor.markedCount
+            removeChunk(chunkIndex + 1)
+        } else {
+            addToTree(sizeTree, chunkIndex, -1)
+            if (slotMarks[slot]) {
+                addToTree(markedTree, chunkIndex, -1)
+            }
+        }
+        return slot
+    }
+
+    /**
+     * Moves the upper half of the given full chunk into a new chunk inserted after it.
+     */
+    private fun split(chunkIndex: Int): Chunk {
+        val chunk = chunks[chunkIndex]!!
+        val half = chunkCapacity / 2
+        val successor = Chunk(chunkCapacity)
+        for (index in half until chunk.size) {
+            val moved = chunk.slots[index]
+            successor.slots[index - half] = moved
+            slotChunks[moved] = successor
+            slotOffsets[moved] = index - half
+            if (slotMarks[moved]) {
+                successor.markedCount++
+            }
+        }
+        successor.size = chunk.size - half
+        chunk.size = half
+        chunk.markedCount -= successor.markedCount
+        insertChunk(chunkIndex + 1, successor)
+        return successor
+    }
+
+    /**
+     * @return the index of the chunk holding the given position, whose start position is stored in [locatedStart]
+     */
+    private fun locate(position: Int): Int {
+        var chunkIndex = 0
+        var remaining = position
+        var step = Integer.highestOneBit(chunkCount)
+        while (step > 0) {
+            val next = chunkIndex + step
+            if (next <= chunkCount && sizeTree[next] <= remaining) {
+                chunkIndex = next
+                remaining -= sizeTree[next]
+            }
+            step = step shr 1
+        }
+        locatedStart = position - remaining
+        return chunkIndex
+    }
+
+    private fun addToTree(tree: IntArray, chunkIndex: Int, delta: Int) {
+        var node = chunkIndex + 1
+        while (node <= chunkCount) {
+            tree[node] += delta
+            node += node and -node
+        }
+    }
+
+    /**
+     * @return the sum of the values of the first `count` chunks
+     */
+    private fun prefixSum(tree: IntArray, count: Int): Int {
+        var sum = 0
+        var node = count
+        while (node > 0) {
+            sum += tree[node]
+            node -= node and -node
+        }
+        return sum
+    }
+
+    /**
+     * Appends an empty chunk, in `O(log k)` unless the chunk array has to grow, since appending an element to a full
+     * list is frequent and must not rebuild the trees.
+     */
+    private fun appendChunk() {
+        val chunk = Chunk(chunkCapacity)
+        if (chunkCount == chunks.size) {
+            insertChunk(chunkCount, chunk)
+            return
+        }
+        chunk.index = chunkCount
+        chunks[chunkCount++] = chunk
+        val node = chunkCount
+        val lowest = node - (node and -node)
+        sizeTree[node] = prefixSum(sizeTree, node - 1) - prefixSum(sizeTree, lowest)
+        markedTree[node] = prefixSum(markedTree, node - 1) - prefixSum(markedTree, lowest)
+    }
+
+    private fun insertChunk(chunkIndex: Int, chunk: Chunk) {
+        if (chunkCount == chunks.size) {
+            chunks = chunks.copyOf(chunkCount shl 1)
+            sizeTree = IntArray(chunks.size + 1)
+            markedTree = IntArray(chunks.size + 1)
+        }
+        System.arraycopy(chunks, chunkIndex, chunks, chunkIndex + 1, chunkCount - chunkIndex)
+        chunks[chunkIndex] = chunk
+        chunkCount++
+        reindexChunksFrom(chunkIndex)
+        rebuildTrees()
+    }
+
+    private fun removeChunk(chunkIndex: Int) {
+        System.arraycopy(chunks, chunkIndex + 1, chunks, chunkIndex, chunkCount - chunkIndex - 1)
+        chunks[--chunkCount] = null
+        reindexChunksFrom(chunkIndex)
+        rebuildTrees()
+    }
+
+    private fun reindexChunksFrom(chunkIndex: Int) {
+        for (index in chunkIndex until chunkCount) {
+            chunks[index]!!.index = index
+        }
+    }
+
+    /**
+     * Rebuilds the Fenwick trees in `O(k)`, which only happens when a chunk is split or removed.
+     */
+    private fun rebuildTrees() {
+        for (node in 1..chunkCount) {
+            val chunk = chunks[node - 1]!!
+            sizeTree[node] = chunk.size
+            markedTree[node] = chunk.markedCount
+        }
+        for (node in 1..chunkCount) {
+            val parent = node + (node and -node)
+            if (parent <= chunkCount) {
+                sizeTree[parent] += sizeTree[node]
+                markedTree[parent] += markedTree[node]
+            }
+        }
+    }
+
+    companion object {
+
+        const val DEFAULT_CHUNK_CAPACITY = 64
+
+        private const val INITIAL_CHUNK_COUNT = 8
+
+        private const val INITIAL_SLOT_COUNT = 16
+
+    }
+
+}
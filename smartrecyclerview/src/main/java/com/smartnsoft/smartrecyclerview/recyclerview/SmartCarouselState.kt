@@ -0,0 +1,72 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.recyclerview
+
+import android.os.Parcelable
+import android.util.LruCache
+
+/**
+ * The state shared by the carousels of a screen: the pool of their view holders, and the scroll state of the most
+ * recently displayed carousels, saved by carousel identifier.
+ *
+ * A state must be created per screen, and given to the
+ * [com.smartnsoft.smartrecyclerview.wrapper.SmartCarouselRecyclerViewWrapper]s of this screen.
+ *
+ * @param maximumScrollStateCount The maximum number of carousels whose scroll state is saved
+ * @param recycledViewPool        The pool shared by the carousels
+ *
+ * @since 2026.10.18
+ */
+@Suppress("unused", "MemberVisibilityCanBePrivate")
+class SmartCarouselState
+@JvmOverloads constructor(
+        maximumScrollStateCount: Int = DEFAULT_MAXIMUM_SCROLL_STATE_COUNT,
+        val recycledViewPool: SmartRecycledViewPool = SmartRecycledViewPool()
+) {
+
+    private val scrollStates = LruCache<Long, Parcelable>(maximumScrollStateCount)
+
+    internal fun saveScrollState(carouselId: Long, scrollState: Parcelable?) {
+        if (scrollState == null) {
+            scrollStates.remove(carouselId)
+        } else {
+            scrollStates.put(carouselId, scrollState)
+        }
+    }
+
+    internal fun getScrollState(carouselId: Long): Parcelable? =
+            scrollStates.get(carouselId)
+
+    /**
+     * Forgets the scroll state of every carousel.
+     */
+    fun clearScrollStates() {
+        scrollStates.evictAll()
+    }
+
+    companion object {
+
+        const val DEFAULT_MAXIMUM_SCROLL_STATE_COUNT = 32
+
+    }
+
+}
@@ -0,0 +1,120 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.recyclerview
+
+import androidx.recyclerview.widget.RecyclerView
+import com.smartnsoft.smartrecyclerview.wrapper.SmartRecyclerViewWrapper
+import com.smartnsoft.smartrecyclerview.wrapper.SmartViewTypeRegistry
+
+/**
+ * A [RecyclerView.RecycledViewPool] meant to be shared by the [RecyclerView]s of a screen, so that the view holders
+ * of a wrapper class released by one of them are reused by the others instead of being inflated again.
+ *
+ * It relies on the view types of the [SmartViewTypeRegistry], which are the same for all the
+ * [com.smartnsoft.smartrecyclerview.adapter.SmartRecyclerAdapter]s. The maximum number of recycled view holders of a
+ * wrapper class is the one declared by its [com.smartnsoft.smartrecyclerview.wrapper.SmartRecycledViewCapacity]
+ * annotation, unless it is set on the pool, the [defaultMaxRecycledViews] applying to the other classes.
+ *
+ * As the views hold the context they were created with, a pool must not be shared between activities.
+ *
+ * @param defaultMaxRecycledViews The maximum number of recycled view holders of the wrapper classes which neither
+ * declare nor have been set a maximum
+ *
+ * @since 2026.10.18
+ */
+@Suppress("unused", "MemberVisibilityCanBePrivate")
+open class SmartRecycledViewPool
+@JvmOverloads constructor(
+        val defaultMaxRecycledViews: Int = DEFAULT_MAX_RECYCLED_VIEWS
+) : RecyclerView.RecycledViewPool() {
+
+    /**
+     * For each view type, indexed by the view type, the maximum number of recycled view holders set on the pool, or
+     * applied to it when its first view holder was recycled, [NOT_SET] otherwise.
+     */
+    private var maxRecycledViews = IntArray(0)
+
+    /**
+     * Shares the pool with the given [RecyclerView].
+     *
+     * @param recyclerView The recycler view
+     */
+    fun attach(recyclerView: RecyclerView) {
+        recyclerView.setRecycledViewPool(this)
+    }
+
+    /**
+     * Sets the maximum number of recycled view holders of a wrapper class, which overrides the one declared by its
+     * [com.smartnsoft.smartrecyclerview.wrapper.SmartRecycledViewCapacity] annotation.
+     *
+     * @param wrapperClass The class of the wrappers
+     * @param max          The maximum number of recycled view holders
+     */
+    fun setMaxRecycledViews(wrapperClass: Class<out SmartRecyclerViewWrapper<*>>, max: Int) {
+        setMaxRecycledViews(SmartViewTypeRegistry.getViewType(wrapperClass), max)
+    }
+
+    override fun setMaxRecycledViews(viewType: Int, max: Int) {
+        if (viewType >= 0) {
+            if (viewType >= maxRecycledViews.size) {
+                val viewTypeCount = maxRecycledViews.size
+                maxRecycledViews = maxRecycledViews.copyOf(Math.max(viewType + 1, SmartViewTypeRegistry.viewTypeCount))
+                maxRecycledViews.fill(NOT_SET, viewTypeCount)
+            }
+            maxRecycledViews[viewType] = max
+        }
+        super.setMaxRecycledViews(viewType, max)
+    }
+
+    /**
+     * @param viewType A view type of the [SmartViewTypeRegistry]
+     * @return the maximum number of recycled view holders of the given view type: the one set on the pool, or else
+     * the one declared by its wrapper class, or else the [defaultMaxRecycledViews]
+     */
+    fun getMaxRecycledViews(viewType: Int): Int {
+        val maxRecycledViews = this.maxRecycledViews.getOrElse(viewType) { NOT_SET }
+        return when {
+            maxRecycledViews != NOT_SET -> maxRecycledViews
+            viewType >= 0 && viewType < SmartViewTypeRegistry.viewTypeCount ->
+                SmartViewTypeRegistry.getDescriptor(viewType).recycledViewCapacity
+                        .takeIf { it != SmartViewTypeRegistry.UNDECLARED_RECYCLED_VIEW_CAPACITY } ?: defaultMaxRecycledViews
+            else -> defaultMaxRecycledViews
+        }
+    }
+
+    override fun putRecycledView(scrap: RecyclerView.ViewHolder) {
+        val viewType = scrap.itemViewType
+        if (viewType >= 0 && maxRecycledViews.getOrElse(viewType) { NOT_SET } == NOT_SET) {
+            setMaxRecycledViews(viewType, getMaxRecycledViews(viewType))
+        }
+        super.putRecycledView(scrap)
+    }
+
+    companion object {
+
+        const val DEFAULT_MAX_RECYCLED_VIEWS = 10
+
+        private const val NOT_SET = -1
+
+    }
+
+}
@@ -23,6 +23,7 @@
 package com.smartnsoft.smartrecyclerview.recyclerview
 
 import android.content.Context
+import android.os.SystemClock
 import androidx.recyclerview.widget.RecyclerView
 import androidx.recyclerview.widget.ItemTouchHelper
 import android.util.AttributeSet
@@ -33,6 +34,10 @@ import com.smartnsoft.smartrecyclerview.adapter.SmartRecyclerAdapter
  * The Adapter has to be of type [SmartRecyclerAdapter]. Furthermore you have to provide stable ids
  * [androidx.recyclerview.widget.RecyclerView.Adapter.setHasStableIds]
  *
+ * The drag is handled as a reorder of the adapter, see [SmartRecyclerAdapter.beginReorder]: the wrappers are only
+ * moved once the item is dropped, the [SmartRecyclerAdapter.onWrapperMovedListener] being notified then.
+ * The auto-scroll speed near the edges depends on the elapsed time between two frames, and not on the frame rate.
+ *
  * @author Adrien Vitti
  * @since 2019.07.15
  */
@@ -41,6 +46,27 @@ class SmartReorderRecyclerView @JvmOverloads constructor(
 ) : RecyclerView(context, attrs, defStyleAttr)
 {
 
+  companion object
+  {
+
+    /**
+     * The maximum auto-scroll speed, in dragged item sizes per second
+     */
+    private const val MAXIMUM_AUTO_SCROLL_SPEED = 8f
+
+    /**
+     * The duration after which the auto-scroll reaches its maximum speed, in milliseconds
+     */
+    private const val AUTO_SCROLL_ACCELERATION_DURATION = 1500L
+
+    private const val DEFAULT_FRAME_DURATION = 16L
+
+    private const val MAXIMUM_FRAME_DURATION = 100L
+
+  }
+
+  private var lastAutoScrollTime = 0L
+
   val itemTouchHelper = ItemTouchHelper(object : ItemTouchHelper.SimpleCallback(
       ItemTouchHelper.UP or ItemTouchHelper.DOWN or ItemTouchHelper.START or ItemTouchHelper.END,
       0
@@ -50,7 +76,7 @@ class SmartReorderRecyclerView @JvmOverloads constructor(
     override fun onMove(recyclerView: RecyclerView, viewHolder: ViewHolder,
                         target: ViewHolder): Boolean
     {
-      (recyclerView.adapter as? SmartRecyclerAdapter)?.moveWrapper(viewHolder.adapterPosition, target.adapterPosition)
+      (recyclerView.adapter as? SmartRecyclerAdapter)?.reorderTo(target.adapterPosition)
 
       return true
     }
@@ -65,6 +91,11 @@ class SmartReorderRecyclerView @JvmOverloads constructor(
     {
       super.onSelectedChanged(viewHolder, actionState)
 
+      if (viewHolder != null && actionState == ItemTouchHelper.ACTION_STATE_DRAG)
+      {
+        (adapter as? SmartRecyclerAdapter)?.takeUnless { it.isReorderInProgress }?.beginReorder(viewHolder.adapterPosition)
+      }
+
       viewHolder?.itemView?.takeIf { _ ->
         actionState == ItemTouchHelper.ACTION_STATE_DRAG
       }?.apply { alpha = 0.5f }
@@ -76,6 +107,26 @@ class SmartReorderRecyclerView @JvmOverloads constructor(
       super.clearView(recyclerView, viewHolder)
 
       viewHolder.itemView.alpha = 1.0f
+      (recyclerView.adapter as? SmartRecyclerAdapter)?.commitReorder()
+    }
+
+    override fun interpolateOutOfBoundsScroll(recyclerView: RecyclerView, viewSize: Int, viewSizeOutOfBounds: Int,
+                                              totalSize: Int, msSinceStartScroll: Long): Int
+    {
+      val now = SystemClock.uptimeMillis()
+      val frameDuration = if (msSinceStartScroll == 0L || lastAutoScrollTime == 0L) DEFAULT_FRAME_DURATION else Math.min(now - lastAutoScrollTime, MAXIMUM_FRAME_DURATION)
+      lastAutoScrollTime = now
+      if (viewSizeOutOfBounds == 0 || viewSize == 0)
+      {
+        return 0
+      }
+
+      val direction = if (viewSizeOutOfBounds > 0) 1 else -1
+      val outOfBoundsRatio = Math.min(1f, Math.abs(viewSizeOutOfBounds).toFloat() / viewSize)
+      val acceleration = Math.min(1f, msSinceStartScroll.toFloat() / AUTO_SCROLL_ACCELERATION_DURATION)
+      val speed = MAXIMUM_AUTO_SCROLL_SPEED * viewSize * outOfBoundsRatio * acceleration * acceleration
+      val distance = (speed * frameDuration / 1000f).toInt()
+      return direction * Math.max(1, distance)
     }
   })
 
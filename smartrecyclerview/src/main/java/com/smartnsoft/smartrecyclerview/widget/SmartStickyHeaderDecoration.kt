@@ -0,0 +1,161 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.widget
+
+import android.graphics.Canvas
+import android.util.SparseArray
+import android.view.View
+import android.view.ViewGroup
+import androidx.recyclerview.widget.RecyclerView
+import com.smartnsoft.smartrecyclerview.adapter.SmartRecyclerAdapter
+import com.smartnsoft.smartrecyclerview.attributes.SmartRecyclerAttributes
+
+/**
+ * An [RecyclerView.ItemDecoration] which draws the header of the section of the first visible item on top of a
+ * vertical [RecyclerView], the next section header pushing it up when it reaches it.
+ * The sections are given by the [com.smartnsoft.smartrecyclerview.wrapper.SmartSectionHeader] wrappers of the adapter.
+ *
+ * The header is not inflated on every frame: a single view is created per header view type, and it is only bound
+ * and laid out again when the current section or the adapter changes.
+ * The decoration observes the adapter from its first draw on, until [detach] is called: it must be called once the
+ * decoration is not used anymore, so that the adapter does not retain it and its header views.
+ *
+ * @since 2026.10.18
+ */
+@Suppress("unused")
+class SmartStickyHeaderDecoration(private val adapter: SmartRecyclerAdapter)
+    : RecyclerView.ItemDecoration() {
+
+    private val headerAttributes = SparseArray<SmartRecyclerAttributes<*>>()
+
+    private var boundAttributes: SmartRecyclerAttributes<*>? = null
+
+    private var boundHeaderPosition = RecyclerView.NO_POSITION
+
+    private var boundWidth = 0
+
+    /**
+     * The [RecyclerView] on which the decoration has last been drawn, if it has not been detached since.
+     */
+    private var recyclerView: RecyclerView? = null
+
+    private val adapterDataObserver = object : RecyclerView.AdapterDataObserver() {
+        override fun onChanged() {
+            boundHeaderPosition = RecyclerView.NO_POSITION
+        }
+
+        override fun onItemRangeChanged(positionStart: Int, itemCount: Int) {
+            boundHeaderPosition = RecyclerView.NO_POSITION
+        }
+
+        override fun onItemRangeChanged(positionStart: Int, itemCount: Int, payload: Any?) {
+            boundHeaderPosition = RecyclerView.NO_POSITION
+        }
+
+        override fun onItemRangeInserted(positionStart: Int, itemCount: Int) {
+            boundHeaderPosition = RecyclerView.NO_POSITION
+        }
+
+        override fun onItemRangeRemoved(positionStart: Int, itemCount: Int) {
+            boundHeaderPosition = RecyclerView.NO_POSITION
+        }
+
+        override fun onItemRangeMoved(fromPosition: Int, toPosition: Int, itemCount: Int) {
+            boundHeaderPosition = RecyclerView.NO_POSITION
+        }
+    }
+
+    /**
+     * Removes the decoration from the [RecyclerView] it has been drawn on, stops observing the adapter, and releases
+     * the header views.
+     * The decoration may be added to a [RecyclerView] again afterwards.
+     */
+    fun detach() {
+        if (recyclerView != null) {
+            adapter.unregisterAdapterDataObserver(adapterDataObserver)
+            recyclerView?.removeItemDecoration(this)
+            recyclerView = null
+        }
+        headerAttributes.clear()
+        boundAttributes = null
+        boundHeaderPosition = RecyclerView.NO_POSITION
+    }
+
+    override fun onDrawOver(canvas: Canvas, parent: RecyclerView, state: RecyclerView.State) {
+        if (recyclerView == null) {
+            adapter.registerAdapterDataObserver(adapterDataObserver)
+            recyclerView = parent
+        }
+        val firstChild = parent.getChildAt(0) ?: return
+        val firstPosition = parent.getChildAdapterPosition(firstChild)
+        if (firstPosition == RecyclerView.NO_POSITION) {
+            return
+        }
+        val section = adapter.getSectionForPosition(firstPosition)
+        if (section == -1) {
+            return
+        }
+        val headerView = getHeaderView(parent, adapter.getPositionForSection(section))
+        val top = parent.paddingTop
+        var offset = 0
+        val nextHeaderPosition = adapter.getPositionForSection(section + 1)
+        if (nextHeaderPosition != -1) {
+            for (index in 0 until parent.childCount) {
+                val child = parent.getChildAt(index)
+                if (parent.getChildAdapterPosition(child) == nextHeaderPosition) {
+                    offset = Math.min(0, child.top - top - headerView.height)
+                    break
+                }
+            }
+        }
+        val saveCount = canvas.save()
+        canvas.translate(parent.paddingLeft.toFloat(), (top + offset).toFloat())
+        headerView.draw(canvas)
+        canvas.restoreToCount(saveCount)
+    }
+
+    /**
+     * @return the view of the header at the given position, bound and laid out if it is not already
+     */
+    private fun getHeaderView(parent: RecyclerView, headerPosition: Int): View {
+        val width = parent.width - parent.paddingLeft - parent.paddingRight
+        val attributes = boundAttributes
+        if (attributes != null && headerPosition == boundHeaderPosition && width == boundWidth) {
+            return attributes.itemView
+        }
+        val viewType = adapter.getItemViewType(headerPosition)
+        val viewTypeAttributes = headerAttributes.get(viewType)
+                ?: adapter.createViewHolder(parent, viewType).also { headerAttributes.put(viewType, it) }
+        adapter.bindDetachedViewHolder(viewTypeAttributes, headerPosition)
+        val headerView = viewTypeAttributes.itemView
+        val height = headerView.layoutParams?.height ?: ViewGroup.LayoutParams.WRAP_CONTENT
+        headerView.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                if (height >= 0) View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY)
+                else View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED))
+        headerView.layout(0, 0, headerView.measuredWidth, headerView.measuredHeight)
+        boundAttributes = viewTypeAttributes
+        boundHeaderPosition = headerPosition
+        boundWidth = width
+        return headerView
+    }
+
+}
@@ -0,0 +1,90 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.wrapper
+
+import androidx.annotation.LayoutRes
+
+/**
+ * A [DiffUtilSmartRecyclerViewWrapper] whose [diffUtilHashCode] is computed once by [computeDiffUtilHashCode], then
+ * memoized until a new business object is assigned, or until [invalidateDiffUtilHashCode] is called.
+ *
+ * The memoized value may be read concurrently, for instance by the
+ * [com.smartnsoft.smartrecyclerview.adapter.DiffUtilSmartRecyclerAdapter.DiffStrategy.PARALLEL_ID_HASHING] strategy,
+ * which reads a wrapper present in both the old and the new lists from two threads.
+ *
+ * @param <BusinessObjectClass> the business object class which is represented by the current wrapper
+ * @see DiffUtilSmartRecyclerViewWrapper
+ *
+ * @since 2026.10.18
+ */
+abstract class MemoizedDiffUtilSmartRecyclerViewWrapper<BusinessObjectClass>
+@JvmOverloads
+protected constructor(
+        businessObject: BusinessObjectClass,
+        @LayoutRes layoutResourceId: Int,
+        spanSize: Int = DEFAULT_SPAN_SIZE
+) : DiffUtilSmartRecyclerViewWrapper<BusinessObjectClass>(businessObject, layoutResourceId, spanSize) {
+
+    /**
+     * The memoized hashcode, or [NOT_MEMOIZED]: a single volatile field, so that a thread never reads a hashcode which
+     * has not been entirely written.
+     */
+    @Volatile
+    private var memoizedDiffUtilHashCode = NOT_MEMOIZED
+
+    final override val diffUtilHashCode: Long
+        get() {
+            var hashCode = memoizedDiffUtilHashCode
+            if (hashCode == NOT_MEMOIZED) {
+                hashCode = computeDiffUtilHashCode()
+                memoizedDiffUtilHashCode = hashCode
+            }
+            return hashCode
+        }
+
+    /**
+     * Computes the value memoized by [diffUtilHashCode]. A hashcode equal to [Long.MIN_VALUE] is computed again on
+     * every access.
+     *
+     * @return the hashcode of the item
+     */
+    protected abstract fun computeDiffUtilHashCode(): Long
+
+    /**
+     * Forgets the memoized [diffUtilHashCode], for instance when the business object has been modified in place.
+     */
+    fun invalidateDiffUtilHashCode() {
+        memoizedDiffUtilHashCode = NOT_MEMOIZED
+    }
+
+    override fun onBusinessObjectChanged() {
+        super.onBusinessObjectChanged()
+        invalidateDiffUtilHashCode()
+    }
+
+    private companion object {
+
+        const val NOT_MEMOIZED = Long.MIN_VALUE
+
+    }
+
+}
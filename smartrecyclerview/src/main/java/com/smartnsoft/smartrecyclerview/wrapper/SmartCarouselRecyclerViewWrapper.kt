@@ -0,0 +1,68 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.wrapper
+
+import android.content.Context
+import android.view.View
+import androidx.annotation.LayoutRes
+import androidx.recyclerview.widget.RecyclerView
+import com.smartnsoft.smartrecyclerview.attributes.SmartCarouselRecyclerAttributes
+import com.smartnsoft.smartrecyclerview.attributes.SmartRecyclerAttributes
+import com.smartnsoft.smartrecyclerview.recyclerview.SmartCarouselState
+
+/**
+ * A [SmartRecyclerViewWrapper] which displays a horizontal carousel of wrappers, through a
+ * [SmartCarouselRecyclerAttributes].
+ *
+ * @param <BusinessObjectClass> the business object class which is represented by the current wrapper
+ * @param carouselState the state shared by the carousels of the screen
+ * @see SmartCarouselRecyclerAttributes
+ *
+ * @since 2026.10.18
+ */
+@Suppress("unused")
+abstract class SmartCarouselRecyclerViewWrapper<BusinessObjectClass>
+@JvmOverloads
+constructor(
+        businessObject: BusinessObjectClass,
+        @LayoutRes layoutResourceId: Int,
+        protected val carouselState: SmartCarouselState,
+        spanSize: Int = DEFAULT_SPAN_SIZE
+) : SmartRecyclerViewWrapper<BusinessObjectClass>(businessObject, layoutResourceId, spanSize) {
+
+    override fun extractNewViewAttributes(context: Context, view: View, businessObjectClass: BusinessObjectClass): SmartRecyclerAttributes<BusinessObjectClass> =
+            createCarouselAttributes(view, getCarouselRecyclerView(view), carouselState)
+
+    /**
+     * @param view The view of the wrapper
+     * @return the inner recycler view of the carousel, which is by default the view itself
+     */
+    protected open fun getCarouselRecyclerView(view: View): RecyclerView =
+            view as RecyclerView
+
+    protected abstract fun createCarouselAttributes(
+            view: View,
+            carouselRecyclerView: RecyclerView,
+            carouselState: SmartCarouselState
+    ): SmartCarouselRecyclerAttributes<BusinessObjectClass>
+
+}
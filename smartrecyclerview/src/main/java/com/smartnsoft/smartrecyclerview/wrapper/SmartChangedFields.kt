@@ -0,0 +1,107 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.wrapper
+
+/**
+ * The payload of a change between two [SmartFieldDiffUtil] items, holding the bitmask of the indexes of the fields
+ * whose hashcode differs.
+ *
+ * @since 2026.10.18
+ */
+@Suppress("unused", "MemberVisibilityCanBePrivate")
+class SmartChangedFields(val mask: Long) {
+
+    /**
+     * @param fieldIndex The index of the field
+     * @return true if the field at the given index has changed, false otherwise
+     */
+    fun contains(fieldIndex: Int): Boolean =
+            mask and (1L shl fieldIndex) != 0L
+
+    override fun equals(other: Any?): Boolean =
+            other is SmartChangedFields && other.mask == mask
+
+    override fun hashCode(): Int =
+            (mask xor (mask ushr 32)).toInt()
+
+    override fun toString(): String =
+            "SmartChangedFields(mask=${java.lang.Long.toBinaryString(mask)})"
+
+    companion object {
+
+        const val MAXIMUM_FIELD_COUNT = 64
+
+        /**
+         * @return the fields which differ between the two items, or `null` if they cannot be compared field by field,
+         * because they are not [SmartFieldDiffUtil]s of the same class, or if no field differs
+         */
+        @JvmStatic
+        fun between(oldItem: Any?, newItem: Any?): SmartChangedFields? {
+            if (oldItem !is SmartFieldDiffUtil || newItem !is SmartFieldDiffUtil || oldItem.javaClass != newItem.javaClass) {
+                return null
+            }
+            val fieldCount = newItem.diffUtilFieldCount
+            require(fieldCount <= MAXIMUM_FIELD_COUNT) { "An item cannot have more than $MAXIMUM_FIELD_COUNT fields" }
+            if (oldItem.diffUtilFieldCount != fieldCount) {
+                return null
+            }
+            var mask = 0L
+            for (fieldIndex in 0 until fieldCount) {
+                if (oldItem.getDiffUtilFieldHashCode(fieldIndex) != newItem.getDiffUtilFieldHashCode(fieldIndex)) {
+                    mask = mask or (1L shl fieldIndex)
+                }
+            }
+            return if (mask != 0L) SmartChangedFields(mask) else null
+        }
+
+        /**
+         * @return the given payloads, in which all the [SmartChangedFields] are merged into the first one
+         */
+        @JvmStatic
+        fun merge(payloads: List<Any>): List<Any> {
+            var changedFieldsCount = 0
+            var mask = 0L
+            for (payload in payloads) {
+                if (payload is SmartChangedFields) {
+                    changedFieldsCount++
+                    mask = mask or payload.mask
+                }
+            }
+            if (changedFieldsCount <= 1) {
+                return payloads
+            }
+            val mergedPayloads = ArrayList<Any>(payloads.size - changedFieldsCount + 1)
+            var isMergedPayloadAdded = false
+            for (payload in payloads) {
+                if (payload !is SmartChangedFields) {
+                    mergedPayloads.add(payload)
+                } else if (isMergedPayloadAdded.not()) {
+                    mergedPayloads.add(SmartChangedFields(mask))
+                    isMergedPayloadAdded = true
+                }
+            }
+            return mergedPayloads
+        }
+
+    }
+
+}
@@ -0,0 +1,43 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.wrapper
+
+/**
+ * A [SmartDiffUtil] which also reports the hashcodes of the fields it displays, for instance a title, an image and a
+ * price, so that the [com.smartnsoft.smartrecyclerview.adapter.DiffUtilSmartRecyclerAdapter] notifies the changes of
+ * its items with a [SmartChangedFields] payload, which only requires the changed fields to be bound again.
+ *
+ * @since 2026.10.18
+ */
+interface SmartFieldDiffUtil : SmartDiffUtil {
+
+    /**
+     * The number of fields of the item, which cannot exceed [SmartChangedFields.MAXIMUM_FIELD_COUNT].
+     */
+    val diffUtilFieldCount: Int
+
+    /**
+     * @param fieldIndex The index of the field, between 0 and [diffUtilFieldCount] excluded
+     * @return the hashcode of the field
+     */
+    fun getDiffUtilFieldHashCode(fieldIndex: Int): Long
+}
@@ -38,13 +38,28 @@ import com.smartnsoft.smartrecyclerview.attributes.SmartRecyclerAttributes
 abstract class SmartRecyclerViewWrapper<BusinessObjectClass>
 @JvmOverloads
 constructor(
-        var businessObject: BusinessObjectClass,
+        businessObject: BusinessObjectClass,
         @LayoutRes protected var layoutResourceId: Int,
         val spanSize: Int = DEFAULT_SPAN_SIZE
 ) {
 
-    fun getType(): Int =
-            this.javaClass.name.hashCode()
+    var businessObject: BusinessObjectClass = businessObject
+        set(value) {
+            field = value
+            onBusinessObjectChanged()
+        }
+
+    private var viewType = NO_VIEW_TYPE
+
+    /**
+     * @return the view type of the wrapper, which is assigned per wrapper class by the [SmartViewTypeRegistry]
+     */
+    fun getType(): Int {
+        if (viewType == NO_VIEW_TYPE) {
+            viewType = SmartViewTypeRegistry.getViewType(javaClass)
+        }
+        return viewType
+    }
 
     open fun getNewView(parent: ViewGroup, context: Context): View {
         val view = LayoutInflater.from(context).inflate(layoutResourceId, parent, false)
@@ -58,9 +73,27 @@ constructor(
 
     open fun getId(): Long = getId(businessObject)
 
+    /**
+     * Returns a value which changes whenever the content displayed by the wrapper changes, which lets the adapter skip
+     * the redundant binds of an item with the same identifier.
+     * It is the [SmartDiffUtil.diffUtilHashCode] of the wrappers implementing [SmartDiffUtil], and
+     * [SmartRecyclerAttributes.NO_CONTENT_VERSION] otherwise, in which case the binds are never skipped.
+     *
+     * @return the content version of the wrapper
+     */
+    open fun getContentVersion(): Long =
+            (this as? SmartDiffUtil)?.diffUtilHashCode ?: SmartRecyclerAttributes.NO_CONTENT_VERSION
+
     protected open fun getId(businessObject: BusinessObjectClass): Long =
             businessObject?.hashCode()?.toLong() ?: 0L
 
+    /**
+     * Called each time a new business object is assigned to the wrapper.
+     */
+    protected open fun onBusinessObjectChanged() {
+        // Does nothing by default
+    }
+
     protected abstract fun extractNewViewAttributes(
             context: Context,
             view: View,
@@ -69,6 +102,8 @@ constructor(
 
     companion object {
         const val DEFAULT_SPAN_SIZE = 1
+
+        private const val NO_VIEW_TYPE = -1
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.wrapper
+
+import android.content.Context
+import android.view.View
+import android.view.ViewGroup
+
+/**
+ * Creates the views of a wrapper type, without requiring an instance of the wrapper.
+ * It can be registered through the [SmartViewTypeRegistry.registerViewFactory] method.
+ *
+ * @since 2026.10.18
+ */
+interface SmartViewFactory {
+
+    /**
+     * Works like [SmartRecyclerViewWrapper.getNewView]: the tag of the returned view must hold its
+     * [com.smartnsoft.smartrecyclerview.attributes.SmartRecyclerAttributes].
+     *
+     * @param parent  The parent the view will be attached to
+     * @param context The context used to create the view
+     * @return a new view
+     */
+    fun createView(parent: ViewGroup, context: Context): View
+}
@@ -0,0 +1,139 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.wrapper
+
+/**
+ * Assigns the view types of the wrappers: each wrapper class gets its own sequential identifier, starting at 0, so
+ * that the view types never collide and can be used as array indexes.
+ *
+ * The view types are shared by all the adapters of the process. A [Descriptor] is recorded for each view type when its
+ * wrapper class is first registered, and a [SmartViewFactory] may be added to it, in which case the adapters use it to
+ * create the views of this class without any instance of the wrapper.
+ *
+ * @since 2026.10.18
+ */
+@Suppress("unused", "MemberVisibilityCanBePrivate")
+object SmartViewTypeRegistry {
+
+    /**
+     * What is known about a view type without any instance of its wrapper class, recorded when the class is first
+     * registered.
+     *
+     * @param viewType     The view type
+     * @param wrapperClass The wrapper class of the view type
+     */
+    class Descriptor internal constructor(val viewType: Int, val wrapperClass: Class<out SmartRecyclerViewWrapper<*>>) {
+
+        /**
+         * Whether the views of the view type may be created on a background thread, i.e. whether its wrapper class
+         * implements [SmartAsyncInflatable].
+         */
+        val isAsyncInflationSafe: Boolean = SmartAsyncInflatable::class.java.isAssignableFrom(wrapperClass)
+
+        /**
+         * The maximum number of recycled view holders declared by the wrapper class or one of its superclasses through
+         * [SmartRecycledViewCapacity], or [UNDECLARED_RECYCLED_VIEW_CAPACITY] if none is declared.
+         */
+        val recycledViewCapacity: Int = generateSequence<Class<*>>(wrapperClass) { it.superclass }
+                .mapNotNull { it.getAnnotation(SmartRecycledViewCapacity::class.java) }
+                .firstOrNull()?.value ?: UNDECLARED_RECYCLED_VIEW_CAPACITY
+
+        /**
+         * The factory which creates the views of the view type, or `null` if none has been registered.
+         */
+        @Volatile
+        var viewFactory: SmartViewFactory? = null
+            internal set
+
+    }
+
+    /**
+     * The [Descriptor.recycledViewCapacity] of the wrapper classes which do not declare any.
+     */
+    const val UNDECLARED_RECYCLED_VIEW_CAPACITY = -1
+
+    private val viewTypes = HashMap<Class<*>, Int>()
+
+    private val descriptors = ArrayList<Descriptor>()
+
+    /**
+     * The number of view types assigned so far.
+     */
+    val viewTypeCount: Int
+        @Synchronized get() = descriptors.size
+
+    /**
+     * @param wrapperClass The class of a wrapper
+     * @return the view type of the given wrapper class, which is assigned on the first call
+     */
+    @Synchronized
+    fun getViewType(wrapperClass: Class<out SmartRecyclerViewWrapper<*>>): Int {
+        return viewTypes[wrapperClass] ?: descriptors.size.also { viewType ->
+            viewTypes[wrapperClass] = viewType
+            descriptors.add(Descriptor(viewType, wrapperClass))
+        }
+    }
+
+    /**
+     * @param viewType A view type returned by [getViewType]
+     * @return the descriptor of the given view type
+     */
+    @Synchronized
+    fun getDescriptor(viewType: Int): Descriptor =
+            descriptors[viewType]
+
+    /**
+     * @param viewType A view type returned by [getViewType]
+     * @return the wrapper class of the given view type
+     */
+    fun getWrapperClass(viewType: Int): Class<out SmartRecyclerViewWrapper<*>> =
+            getDescriptor(viewType).wrapperClass
+
+    /**
+     * Registers the factory which creates the views of a wrapper class, so that the adapters do not need an instance
+     * of the wrapper in order to create them.
+     *
+     * @param wrapperClass The class of a wrapper
+     * @param viewFactory  The factory of its views
+     */
+    @Synchronized
+    fun registerViewFactory(wrapperClass: Class<out SmartRecyclerViewWrapper<*>>, viewFactory: SmartViewFactory) {
+        descriptors[getViewType(wrapperClass)].viewFactory = viewFactory
+    }
+
+    /**
+     * @param viewType A view type returned by [getViewType]
+     * @return the factory registered for the given view type, or `null` if none has been registered
+     */
+    @Synchronized
+    fun getViewFactory(viewType: Int): SmartViewFactory? =
+            descriptors.getOrNull(viewType)?.viewFactory
+
+    /**
+     * @param viewType A view type returned by [getViewType]
+     * @return true if the views of the given view type may be created on a background thread, i.e. if its wrapper
+     * class implements [SmartAsyncInflatable], false otherwise
+     */
+    fun isAsyncInflationSafe(viewType: Int): Boolean =
+            getDescriptor(viewType).isAsyncInflationSafe
+
+}
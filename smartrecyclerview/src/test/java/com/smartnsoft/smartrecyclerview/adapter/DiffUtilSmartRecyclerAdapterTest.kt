@@ -0,0 +1,167 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.adapter
+
+import android.content.ContextWrapper
+import android.view.View
+import com.smartnsoft.smartrecyclerview.adapter.DiffUtilSmartRecyclerAdapter.DiffStrategy
+import com.smartnsoft.smartrecyclerview.adapter.RecordingObserver.Operation
+import com.smartnsoft.smartrecyclerview.adapter.RecordingObserver.Type
+import com.smartnsoft.smartrecyclerview.attributes.SmartRecyclerAttributes
+import com.smartnsoft.smartrecyclerview.wrapper.SmartChangedFields
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.robolectric.shadows.ShadowLooper
+import java.util.concurrent.Executor
+
+/**
+ * @since 2026.10.18
+ */
+@RunWith(RobolectricTestRunner::class)
+class DiffUtilSmartRecyclerAdapterTest {
+
+    private val adapter = TestDiffUtilAdapter(ContextWrapper(null))
+
+    private val observer = RecordingObserver()
+
+    @Test
+    fun anInPlaceChangeIsNotifiedWithTheChangedFields() {
+        for (strategy in DiffStrategy.values()) {
+            adapter.diffStrategy = strategy
+            adapter.setWrappersForDiffUtil(listOf(item(1, "a", 10), item(2, "b", 20), item(3, "c", 30)))
+            adapter.registerAdapterDataObserver(observer)
+            adapter.setWrappersForDiffUtil(listOf(item(1, "a", 10), item(2, "b", 25), item(3, "c", 30)))
+            adapter.unregisterAdapterDataObserver(observer)
+            assertEquals(listOf(Operation(Type.CHANGE, 1, 1, SmartChangedFields(PRICE))), observer.operations)
+            observer.clear()
+        }
+    }
+
+    @Test
+    fun aMovedItemIsNotifiedWithTheChangedFields() {
+        adapter.diffStrategy = DiffStrategy.ID_HASHING
+        adapter.setWrappersForDiffUtil(listOf(item(1, "a", 10), item(2, "b", 20), item(3, "c", 30), item(4, "d", 40)))
+        adapter.registerAdapterDataObserver(observer)
+        adapter.setWrappersForDiffUtil(listOf(item(1, "a", 10), item(3, "c", 30), item(4, "e", 40), item(2, "b", 20)))
+        val changes = observer.operations.filter { it.type == Type.CHANGE }
+        assertEquals(listOf(Operation(Type.CHANGE, 2, 1, SmartChangedFields(TITLE))), changes)
+        val replayed = mutableListOf(1L, 2L, 3L, 4L)
+        observer.replay(replayed, -1L)
+        assertEquals(listOf(1L, 3L, -1L, 2L), replayed)
+        assertEquals(listOf(1L, 3L, 4L, 2L), adapter.currentWrappers.map { it.getId() })
+    }
+
+    @Test
+    fun aDiffComputedBeforeADragIsDispatchedOnceTheDragIsCancelled() {
+        var executionCount = 0
+        adapter.diffExecutor = Executor { executionCount++; it.run() }
+        adapter.setWrappersForDiffUtil(List(5) { item(it.toLong(), "t$it", it) })
+        adapter.registerAdapterDataObserver(observer)
+        adapter.setWrappersForDiffUtilAsync(List(6) { item(it.toLong(), "t$it", it) })
+        adapter.beginReorder(0)
+        repeat(10) { frame ->
+            adapter.reorderTo(1 + frame % 3)
+            ShadowLooper.idleMainLooper()
+        }
+        assertEquals(5, adapter.itemCount)
+        adapter.cancelReorder()
+        ShadowLooper.idleMainLooper()
+        assertEquals(1, executionCount)
+        assertEquals(listOf(0L, 1L, 2L, 3L, 4L, 5L), adapter.currentWrappers.map { it.getId() })
+        val replayed = mutableListOf(0L, 1L, 2L, 3L, 4L)
+        observer.replay(replayed, -1L)
+        assertEquals(listOf(0L, 1L, 2L, 3L, 4L, -1L), replayed)
+    }
+
+    @Test
+    fun onlyTheLastDiffSubmittedDuringADragIsComputedAgainstTheCommittedOrder() {
+        var executionCount = 0
+        adapter.diffExecutor = Executor { executionCount++; it.run() }
+        adapter.diffStrategy = DiffStrategy.ID_HASHING
+        adapter.setWrappersForDiffUtil(List(5) { item(it.toLong(), "t$it", it) })
+        adapter.registerAdapterDataObserver(observer)
+        adapter.beginReorder(0)
+        adapter.setWrappersForDiffUtilAsync(List(6) { item(it.toLong(), "t$it", it) })
+        adapter.setWrappersForDiffUtilAsync(listOf(item(1, "t1", 1), item(0, "t0", 0), item(2, "t2", 2), item(4, "u4", 4)))
+        repeat(10) { frame ->
+            adapter.reorderTo(1 + frame % 3)
+            ShadowLooper.idleMainLooper()
+        }
+        assertEquals(0, executionCount)
+        adapter.reorderTo(1)
+        adapter.commitReorder()
+        ShadowLooper.idleMainLooper()
+        assertEquals(1, executionCount)
+        assertEquals(listOf(1L, 0L, 2L, 4L), adapter.currentWrappers.map { it.getId() })
+        val replayed = mutableListOf(0L, 1L, 2L, 3L, 4L)
+        observer.replay(replayed, -1L)
+        assertEquals(listOf(1L, 0L, 2L, -1L), replayed)
+    }
+
+    @Test
+    fun thePayloadsOfOneBindAreHandledInOrderWithAtMostOneFullBind() {
+        val partiallyUpdatedPayloads = ArrayList<Any>()
+        var fullUpdateCount = 0
+        val holder = object : SmartRecyclerAttributes<String>(View(RuntimeEnvironment.application)) {
+
+            override fun onBusinessObjectUpdated(businessObject: String, isSelected: Boolean) {
+                fullUpdateCount++
+            }
+
+            override fun onBusinessObjectPartiallyUpdated(businessObject: String, isSelected: Boolean, payloads: List<Any>): Boolean {
+                partiallyUpdatedPayloads.addAll(payloads)
+                return false
+            }
+
+        }
+        adapter.setWrappersForDiffUtil(listOf(item(1, "a", 10)))
+        adapter.handledPayloads = setOf("handled 1", "handled 2")
+        adapter.onBindViewHolder(holder, 0, listOf("handled 1", SmartChangedFields(TITLE), "unhandled 1", "handled 2",
+                SmartChangedFields(PRICE), "handled 1", "unhandled 2"))
+        // The changed fields are merged, and the payload repeated is only handed over once
+        assertEquals(listOf("handled 1", SmartChangedFields(TITLE or PRICE), "unhandled 1", "handled 2", "unhandled 2"),
+                adapter.customBindPayloads)
+        assertEquals(listOf(SmartChangedFields(TITLE or PRICE), "unhandled 1", "unhandled 2"), partiallyUpdatedPayloads)
+        assertEquals(1L, adapter.bindCount)
+        assertEquals(1, fullUpdateCount)
+        adapter.customBindPayloads.clear()
+        adapter.onBindViewHolder(holder, 0, listOf("handled 2", "handled 1"))
+        assertEquals(listOf("handled 2", "handled 1"), adapter.customBindPayloads)
+        assertEquals(1L, adapter.bindCount)
+        assertEquals(1, fullUpdateCount)
+    }
+
+    private fun item(identifier: Long, title: String, price: Int): TestFieldWrapper =
+            TestFieldWrapper(identifier, title, price)
+
+    companion object {
+
+        private const val TITLE = 1L
+
+        private const val PRICE = 2L
+
+    }
+
+}
@@ -0,0 +1,220 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.adapter
+
+import android.content.ContextWrapper
+import android.view.View
+import com.smartnsoft.smartrecyclerview.adapter.SmartRecyclerAdapter.ComparisonType
+import com.smartnsoft.smartrecyclerview.attributes.SmartRecyclerAttributes
+import com.smartnsoft.smartrecyclerview.wrapper.SmartRecyclerViewWrapper
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.robolectric.shadows.ShadowLooper
+import java.util.concurrent.Executor
+
+/**
+ * @since 2026.10.18
+ */
+@RunWith(RobolectricTestRunner::class)
+class PagedSmartRecyclerAdapterTest {
+
+    /**
+     * Loads pages whose wrappers are identified by their position, a section starting every [SECTION_SIZE] positions.
+     */
+    private class TestPageLoader : PagedSmartRecyclerAdapter.PageLoader {
+
+        private val placeholder = TestWrapper(-1)
+
+        val loadedPageIndexes = mutableListOf<Int>()
+
+        val loadSizes = mutableListOf<Int>()
+
+        val shortPageIndexes = mutableSetOf<Int>()
+
+        var placeholderCount = 0
+
+        override fun getItemCount(): Int =
+                ITEM_COUNT
+
+        override fun loadPage(pageIndex: Int, startPosition: Int, loadSize: Int): List<SmartRecyclerViewWrapper<*>>? {
+            loadedPageIndexes.add(pageIndex)
+            loadSizes.add(loadSize)
+            val size = if (pageIndex in shortPageIndexes) loadSize - 1 else loadSize
+            return List(size) {
+                val position = startPosition + it
+                if (position % SECTION_SIZE == 0) TestSectionHeader(position.toLong()) else TestWrapper(position.toLong())
+            }
+        }
+
+        override fun createPlaceholder(position: Int): SmartRecyclerViewWrapper<*> {
+            placeholderCount++
+            return placeholder
+        }
+
+    }
+
+    private val pageLoader = TestPageLoader()
+
+    private val adapter = PagedSmartRecyclerAdapter(ContextWrapper(null), pageLoader, PAGE_SIZE, 1, 4)
+
+    private val holder = object : SmartRecyclerAttributes<String>(View(RuntimeEnvironment.application)) {}
+
+    @Before
+    fun setUp() {
+        adapter.loadExecutor = Executor { it.run() }
+        adapter.refresh()
+    }
+
+    @Test
+    fun bindingAPositionLoadsItsPageAndThePagesAroundIt() {
+        bind(25)
+        assertEquals(listOf(1, 2, 3), pageLoader.loadedPageIndexes)
+        assertTrue((10 until 40).all { adapter.isPositionLoaded(it) })
+        assertFalse(adapter.isPositionLoaded(9))
+        assertFalse(adapter.isPositionLoaded(40))
+        assertEquals(25L, adapter.getItemId(25))
+        assertEquals(-1L, adapter.getItemId(40))
+    }
+
+    @Test
+    fun theResidentAndLoadingPagesAreNotLoadedAgain() {
+        adapter.onBindViewHolder(holder, 25)
+        adapter.onBindViewHolder(holder, 26)
+        ShadowLooper.idleMainLooper()
+        bind(35)
+        assertEquals(listOf(1, 2, 3, 4), pageLoader.loadedPageIndexes)
+    }
+
+    @Test
+    fun theLastPageIsLoadedWithItsRemainingItems() {
+        bind(ITEM_COUNT - 1)
+        assertEquals(listOf(8, 9), pageLoader.loadedPageIndexes)
+        assertEquals(listOf(PAGE_SIZE, ITEM_COUNT % PAGE_SIZE), pageLoader.loadSizes)
+        assertTrue(adapter.isPositionLoaded(ITEM_COUNT - 1))
+        assertEquals(ITEM_COUNT - 1L, adapter.getItemId(ITEM_COUNT - 1))
+    }
+
+    @Test
+    fun aShortPageIsNotLoadedAndIsRequestedAgain() {
+        pageLoader.shortPageIndexes.add(2)
+        bind(25)
+        assertFalse(adapter.isPositionLoaded(25))
+        assertEquals(-1L, adapter.getItemId(25))
+        assertEquals(-1, adapter.getItemPosition(25))
+        pageLoader.shortPageIndexes.clear()
+        bind(25)
+        assertEquals(listOf(1, 2, 3, 2), pageLoader.loadedPageIndexes)
+        assertTrue(adapter.isPositionLoaded(25))
+    }
+
+    @Test
+    fun theLeastRecentlyBoundPagesAreEvicted() {
+        bind(5)
+        bind(25)
+        // Page 0 becomes more recent than the pages 1, 2 and 3
+        bind(5)
+        val observer = RecordingObserver()
+        adapter.registerAdapterDataObserver(observer)
+        // Loading the pages 4, 5 and 6 evicts the least recently bound pages, apart from the page 0
+        bind(55)
+        assertEquals(listOf(0, 4, 5, 6), (0 until ITEM_COUNT / PAGE_SIZE).filter { adapter.isPositionLoaded(it * PAGE_SIZE) })
+        val evictedPositions = observer.operations.filter { it.type == RecordingObserver.Type.CHANGE }.map { it.position }
+        assertEquals(listOf(40, 10, 50, 20, 60, 30), evictedPositions)
+    }
+
+    @Test
+    fun thePagesAroundTheLastBoundPositionAreNotEvicted() {
+        bind(5)
+        bind(25)
+        // Binding 5 again while the pages around 55 are loading keeps the page 1, though it is the least recently bound
+        adapter.onBindViewHolder(holder, 55)
+        adapter.onBindViewHolder(holder, 5)
+        ShadowLooper.idleMainLooper()
+        assertTrue(adapter.isPositionLoaded(0))
+        assertTrue(adapter.isPositionLoaded(10))
+        assertEquals(4, (0 until ITEM_COUNT / PAGE_SIZE).count { adapter.isPositionLoaded(it * PAGE_SIZE) })
+    }
+
+    @Test
+    fun theLookupsOnlyConsiderTheResidentPages() {
+        bind(25)
+        val placeholderCount = pageLoader.placeholderCount
+        assertEquals(25, adapter.getItemPosition(25))
+        assertEquals(30, adapter.getItemPosition(30, String::class.java, TestSectionHeader::class.java,
+                ComparisonType.BUSINESS_OBJECT_AND_WRAPPER_TYPE))
+        assertEquals(-1, adapter.getItemPosition(31, String::class.java, TestSectionHeader::class.java,
+                ComparisonType.WRAPPER_TYPE))
+        assertEquals(-1, adapter.getItemPosition(5))
+        assertEquals(-1, adapter.getItemPosition(-1))
+        assertEquals(3, adapter.getSectionCount())
+        assertEquals(-1, adapter.getSectionForPosition(5))
+        assertEquals(0, adapter.getSectionForPosition(19))
+        assertEquals(1, adapter.getSectionForPosition(20))
+        assertEquals(2, adapter.getSectionForPosition(45))
+        assertEquals(20, adapter.getPositionForSection(1))
+        assertEquals(-1, adapter.getPositionForSection(3))
+        assertEquals(placeholderCount, pageLoader.placeholderCount)
+    }
+
+    @Test
+    fun bindingADetachedViewHolderHasNoSideEffect() {
+        bind(25)
+        adapter.resetBindCounts()
+        adapter.bindDetachedViewHolder(holder, 65)
+        ShadowLooper.idleMainLooper()
+        assertEquals(listOf(1, 2, 3), pageLoader.loadedPageIndexes)
+        assertEquals(0L, adapter.bindCount)
+        assertEquals(0L, adapter.skippedBindCount)
+    }
+
+    @Test
+    fun refreshingForgetsThePages() {
+        bind(25)
+        adapter.refresh()
+        assertFalse(adapter.isPositionLoaded(25))
+        assertEquals(-1, adapter.getItemPosition(25))
+        bind(25)
+        assertEquals(listOf(1, 2, 3, 1, 2, 3), pageLoader.loadedPageIndexes)
+    }
+
+    private fun bind(position: Int) {
+        adapter.onBindViewHolder(holder, position)
+        ShadowLooper.idleMainLooper()
+    }
+
+    companion object {
+
+        private const val ITEM_COUNT = 95
+
+        private const val PAGE_SIZE = 10
+
+        private const val SECTION_SIZE = 10
+
+    }
+
+}
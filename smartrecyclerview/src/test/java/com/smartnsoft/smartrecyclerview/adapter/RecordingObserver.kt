@@ -0,0 +1,98 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.adapter
+
+import androidx.recyclerview.widget.ListUpdateCallback
+import androidx.recyclerview.widget.RecyclerView
+
+/**
+ * Records the notifications of an adapter, or the updates dispatched to a [ListUpdateCallback], so that the tests can
+ * check them, or replay them on a model list.
+ *
+ * @since 2026.10.18
+ */
+class RecordingObserver : RecyclerView.AdapterDataObserver(), ListUpdateCallback {
+
+    enum class Type {
+        INSERT, REMOVE, CHANGE, MOVE, DATA_SET_CHANGE
+    }
+
+    /**
+     * For a [Type.MOVE], the count holds the destination position.
+     */
+    data class Operation(val type: Type, val position: Int, val count: Int, val payload: Any? = null)
+
+    val operations = ArrayList<Operation>()
+
+    override fun onChanged() {
+        operations.add(Operation(Type.DATA_SET_CHANGE, 0, 0))
+    }
+
+    override fun onItemRangeInserted(positionStart: Int, itemCount: Int) {
+        operations.add(Operation(Type.INSERT, positionStart, itemCount))
+    }
+
+    override fun onItemRangeRemoved(positionStart: Int, itemCount: Int) {
+        operations.add(Operation(Type.REMOVE, positionStart, itemCount))
+    }
+
+    override fun onItemRangeChanged(positionStart: Int, itemCount: Int, payload: Any?) {
+        operations.add(Operation(Type.CHANGE, positionStart, itemCount, payload))
+    }
+
+    override fun onItemRangeMoved(fromPosition: Int, toPosition: Int, itemCount: Int) {
+        operations.add(Operation(Type.MOVE, fromPosition, toPosition))
+    }
+
+    override fun onInserted(position: Int, count: Int) =
+            onItemRangeInserted(position, count)
+
+    override fun onRemoved(position: Int, count: Int) =
+            onItemRangeRemoved(position, count)
+
+    override fun onMoved(fromPosition: Int, toPosition: Int) =
+            onItemRangeMoved(fromPosition, toPosition, 1)
+
+    override fun onChanged(position: Int, count: Int, payload: Any?) =
+            onItemRangeChanged(position, count, payload)
+
+    /**
+     * Applies the recorded operations to the given list, the inserted and changed elements being set to `replacement`.
+     */
+    fun <T> replay(list: MutableList<T>, replacement: T) {
+        for (operation in operations) {
+            when (operation.type) {
+                Type.INSERT -> list.addAll(operation.position, List(operation.count) { replacement })
+                Type.REMOVE -> list.subList(operation.position, operation.position + operation.count).clear()
+                Type.CHANGE -> for (position in operation.position until operation.position + operation.count) {
+                    list[position] = replacement
+                }
+                Type.MOVE -> list.add(operation.count, list.removeAt(operation.position))
+                Type.DATA_SET_CHANGE -> throw IllegalStateException("A data set change cannot be replayed")
+            }
+        }
+    }
+
+    fun clear() =
+            operations.clear()
+
+}
@@ -0,0 +1,138 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.adapter
+
+import androidx.recyclerview.widget.ListUpdateCallback
+import com.smartnsoft.smartrecyclerview.adapter.DiffUtilSmartRecyclerAdapter.DiffStrategy
+import com.smartnsoft.smartrecyclerview.adapter.SmartDiffCalculatorTest.TestDiffCallback
+import org.junit.Assume.assumeTrue
+import org.junit.Test
+import java.util.*
+import java.util.concurrent.Executors
+
+/**
+ * Times the computation and the dispatch of the diffs of every [DiffStrategy], then of the
+ * [DiffStrategy.PARALLEL_ID_HASHING] strategy from 1 thread to one per core, on lists where 1% of the items are moved
+ * and 1% are changed.
+ *
+ * It is only run with `./gradlew test -Psmartrecyclerview.benchmark=true`, and prints the median time of each case.
+ *
+ * @since 2026.10.18
+ */
+class SmartDiffBenchmarkTest {
+
+    private object NoOpListUpdateCallback : ListUpdateCallback {
+
+        override fun onInserted(position: Int, count: Int) = Unit
+
+        override fun onRemoved(position: Int, count: Int) = Unit
+
+        override fun onMoved(fromPosition: Int, toPosition: Int) = Unit
+
+        override fun onChanged(position: Int, count: Int, payload: Any?) = Unit
+
+    }
+
+    @Test
+    fun benchmarkTheDiffStrategies() {
+        assumeTrue("Run with -Psmartrecyclerview.benchmark=true", java.lang.Boolean.getBoolean("smartrecyclerview.benchmark"))
+        for (size in STRATEGY_SIZES) {
+            val oldWrappers = List(size) { TestDiffWrapper(it.toLong(), 0) }
+            val newWrappers = edit(oldWrappers)
+            for (strategy in DiffStrategy.values()) {
+                val time = measure { SmartDiffCalculator.calculateDiff(TestDiffCallback(oldWrappers, newWrappers), true, strategy) }
+                println(String.format(Locale.US, "%-20s %7d items: %9.3f ms", strategy, size, time))
+            }
+        }
+    }
+
+    @Test
+    fun benchmarkTheParallelDiffScaling() {
+        assumeTrue("Run with -Psmartrecyclerview.benchmark=true", java.lang.Boolean.getBoolean("smartrecyclerview.benchmark"))
+        val processorCount = Runtime.getRuntime().availableProcessors()
+        val parallelisms = generateSequence(1) { it * 2 }.takeWhile { it < processorCount }.plus(processorCount).toList()
+        for (size in SCALING_SIZES) {
+            val oldWrappers = List(size) { TestDiffWrapper(it.toLong(), 0) }
+            val newWrappers = edit(oldWrappers)
+            var singleThreadTime = 0.0
+            for (parallelism in parallelisms) {
+                val executor = Executors.newFixedThreadPool(parallelism)
+                try {
+                    val parallelDiff = SmartParallelDiff(parallelism, executor)
+                    val time = measure {
+                        SmartDiffCalculator.calculateDiff(TestDiffCallback(oldWrappers, newWrappers), true,
+                                DiffStrategy.PARALLEL_ID_HASHING, parallelDiff)
+                    }
+                    if (parallelism == 1) {
+                        singleThreadTime = time
+                    }
+                    println(String.format(Locale.US, "%7d items, %2d threads: %9.3f ms, speedup %.2f", size, parallelism,
+                            time, singleThreadTime / time))
+                } finally {
+                    executor.shutdown()
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the given wrappers, 1% of them being moved and 1% being changed
+     */
+    private fun edit(oldWrappers: List<TestDiffWrapper>): List<TestDiffWrapper> {
+        val size = oldWrappers.size
+        val random = Random(size.toLong())
+        val newWrappers = ArrayList(oldWrappers)
+        repeat(size / 100) {
+            newWrappers.add(random.nextInt(size), newWrappers.removeAt(random.nextInt(size)))
+            val position = random.nextInt(size)
+            newWrappers[position] = TestDiffWrapper(newWrappers[position].identifier, 1)
+        }
+        return newWrappers
+    }
+
+    /**
+     * @return the median time in milliseconds of the computation and the dispatch of the given diff
+     */
+    private fun measure(calculateDiff: () -> SmartDiffCalculator.DiffResult): Double {
+        val timings = LongArray(WARM_UP_COUNT + MEASURE_COUNT)
+        for (run in timings.indices) {
+            val start = System.nanoTime()
+            calculateDiff().dispatchUpdatesTo(NoOpListUpdateCallback)
+            timings[run] = System.nanoTime() - start
+        }
+        val measures = timings.copyOfRange(WARM_UP_COUNT, timings.size).sorted()
+        return measures[measures.size / 2] / 1e6
+    }
+
+    companion object {
+
+        private val STRATEGY_SIZES = intArrayOf(1_000, 10_000, 50_000)
+
+        private val SCALING_SIZES = intArrayOf(100_000, 250_000, 500_000)
+
+        private const val WARM_UP_COUNT = 3
+
+        private const val MEASURE_COUNT = 7
+
+    }
+
+}
@@ -0,0 +1,200 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.adapter
+
+import androidx.recyclerview.widget.DiffUtil
+import com.smartnsoft.smartrecyclerview.adapter.DiffUtilSmartRecyclerAdapter.DiffStrategy
+import com.smartnsoft.smartrecyclerview.adapter.DiffUtilSmartRecyclerAdapter.SmartDiffUtilCallback
+import com.smartnsoft.smartrecyclerview.wrapper.SmartRecyclerViewWrapper
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.util.*
+import java.util.concurrent.Executors
+
+/**
+ * Checks that the diffs of every [DiffStrategy] turn the old list into the new one, like [DiffUtil] does.
+ *
+ * @since 2026.10.18
+ */
+class SmartDiffCalculatorTest {
+
+    class TestDiffCallback(oldWrappers: List<SmartRecyclerViewWrapper<*>>, newWrappers: List<SmartRecyclerViewWrapper<*>>)
+        : SmartDiffUtilCallback(oldWrappers, newWrappers) {
+
+        override fun getChangePayloadCustom(oldItemPosition: Int, newItemPosition: Int, oldBusinessObject: Any?,
+                                            newBusinessObject: Any?): Any? =
+                null
+
+    }
+
+    private val executor = Executors.newFixedThreadPool(4)
+
+    private val parallelDiff = SmartParallelDiff(4, executor)
+
+    @After
+    fun tearDown() {
+        executor.shutdown()
+    }
+
+    @Test
+    fun everyStrategyTurnsTheOldListIntoTheNewOne() {
+        val random = Random(3)
+        repeat(200) {
+            val oldWrappers = newList(random, random.nextInt(120))
+            val newWrappers = edit(random, oldWrappers)
+            for (detectMoves in listOf(true, false)) {
+                val reference = replay(oldWrappers, DiffUtil.calculateDiff(TestDiffCallback(oldWrappers, newWrappers), detectMoves)::dispatchUpdatesTo)
+                assertKeptItemsAreUnchanged(oldWrappers, newWrappers, reference)
+                for (strategy in DiffStrategy.values()) {
+                    val diffResult = SmartDiffCalculator.calculateDiff(TestDiffCallback(oldWrappers, newWrappers), detectMoves, strategy)
+                    val actual = replay(oldWrappers, diffResult::dispatchUpdatesTo)
+                    assertKeptItemsAreUnchanged(oldWrappers, newWrappers, actual)
+                    if (strategy != DiffStrategy.MYERS && detectMoves) {
+                        assertEquals(expected(oldWrappers, newWrappers), actual)
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    fun theParallelDiffMatchesTheSequentialOne() {
+        val random = Random(17)
+        repeat(100) {
+            val oldWrappers = newList(random, random.nextInt(300))
+            val newWrappers = edit(random, oldWrappers)
+            val callback = TestDiffCallback(oldWrappers, newWrappers)
+            val oldIds = callback.oldWrappersSnapshot.ids
+            val newIds = callback.newWrappersSnapshot.ids
+            val sequential = SmartLinearDiff.calculateDiff(callback, oldIds, newIds, 0, oldIds.size, newIds.size, true)!!
+            val parallel = SmartLinearDiff.calculateDiffInParallel(callback, oldIds, newIds, 0, oldIds.size, newIds.size,
+                    true, parallelDiff)!!
+            val expected = RecordingObserver().also { sequential.dispatchUpdatesTo(it) }.operations
+            val actual = RecordingObserver().also { parallel.dispatchUpdatesTo(it) }.operations
+            assertEquals(expected, actual)
+        }
+    }
+
+    @Test
+    fun largeListsAreDiffedInParallel() {
+        val random = Random(23)
+        val oldWrappers = newList(random, SmartParallelDiff.MINIMUM_PARALLEL_ITEM_COUNT)
+        val newWrappers = edit(random, oldWrappers)
+        val diffResult = SmartDiffCalculator.calculateDiff(TestDiffCallback(oldWrappers, newWrappers), true,
+                DiffStrategy.PARALLEL_ID_HASHING)
+        assertEquals(expected(oldWrappers, newWrappers), replay(oldWrappers, diffResult::dispatchUpdatesTo))
+    }
+
+    @Test
+    fun bothPathsRejectTheSameDuplicates() {
+        val oldWrappers = listOf(wrapper(1), wrapper(2), wrapper(3))
+        val newDuplicates = listOf(wrapper(9), wrapper(1), wrapper(9), wrapper(3))
+        val matchedTwice = listOf(wrapper(1), wrapper(2), wrapper(2))
+        val oldDuplicates = listOf(wrapper(1), wrapper(1))
+        for ((old, new) in listOf(oldWrappers to newDuplicates, oldWrappers to matchedTwice, oldDuplicates to oldWrappers)) {
+            val callback = TestDiffCallback(old, new)
+            val oldIds = callback.oldWrappersSnapshot.ids
+            val newIds = callback.newWrappersSnapshot.ids
+            val sequential = SmartLinearDiff.calculateDiff(callback, oldIds, newIds, 0, oldIds.size, newIds.size, true)
+            val parallel = SmartLinearDiff.calculateDiffInParallel(callback, oldIds, newIds, 0, oldIds.size, newIds.size,
+                    true, parallelDiff)
+            assertEquals(sequential == null, parallel == null)
+            if (new === newDuplicates) {
+                assertNotNull(sequential)
+                assertEquals(expected(old, new), replay(old, sequential!!::dispatchUpdatesTo))
+            } else {
+                assertNull(sequential)
+            }
+        }
+    }
+
+    private fun wrapper(identifier: Long): TestDiffWrapper =
+            TestDiffWrapper(identifier, 0)
+
+    private fun newList(random: Random, size: Int): List<TestDiffWrapper> =
+            List(size) { TestDiffWrapper(it.toLong(), random.nextInt(3).toLong()) }
+
+    /**
+     * @return a copy of the given list where some items are removed, moved, inserted or changed
+     */
+    private fun edit(random: Random, wrappers: List<TestDiffWrapper>): List<TestDiffWrapper> {
+        val edited = ArrayList(wrappers)
+        var nextIdentifier = wrappers.size.toLong() + 1_000
+        repeat(1 + random.nextInt(Math.max(1, wrappers.size / 4))) {
+            val size = edited.size
+            when (random.nextInt(4)) {
+                0 -> if (size > 0) {
+                    edited.removeAt(random.nextInt(size))
+                }
+                1 -> if (size > 1) {
+                    edited.add(random.nextInt(size), edited.removeAt(random.nextInt(size)))
+                }
+                2 -> edited.add(random.nextInt(size + 1), TestDiffWrapper(nextIdentifier++, 0))
+                else -> if (size > 0) {
+                    val position = random.nextInt(size)
+                    edited[position] = TestDiffWrapper(edited[position].identifier, edited[position].version + 1)
+                }
+            }
+        }
+        return edited
+    }
+
+    /**
+     * @return the identifiers of the new list, the inserted and changed items being replaced by [NEW]
+     */
+    private fun expected(oldWrappers: List<TestDiffWrapper>, newWrappers: List<TestDiffWrapper>): List<Long> {
+        val oldVersions = oldWrappers.associate { it.identifier to it.version }
+        return newWrappers.map { if (oldVersions[it.identifier] == it.version) it.identifier else NEW }
+    }
+
+    private fun replay(oldWrappers: List<TestDiffWrapper>, dispatch: (RecordingObserver) -> Unit): List<Long> {
+        val observer = RecordingObserver()
+        dispatch(observer)
+        val list = oldWrappers.mapTo(ArrayList()) { it.identifier }
+        observer.replay(list, NEW)
+        return list
+    }
+
+    /**
+     * Checks that the replayed list has the size of the new list, and that each item it kept is the new item at that
+     * position, with the same content.
+     */
+    private fun assertKeptItemsAreUnchanged(oldWrappers: List<TestDiffWrapper>, newWrappers: List<TestDiffWrapper>,
+                                            replayed: List<Long>) {
+        val expected = expected(oldWrappers, newWrappers)
+        assertEquals(expected.size, replayed.size)
+        for (position in replayed.indices) {
+            assertTrue(replayed[position] == NEW || replayed[position] == expected[position])
+        }
+    }
+
+    companion object {
+
+        private const val NEW = -1L
+
+    }
+
+}
@@ -0,0 +1,212 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.adapter
+
+import android.content.Context
+import android.content.ContextWrapper
+import android.view.View
+import com.smartnsoft.smartrecyclerview.adapter.SmartRecyclerAdapter.ComparisonType
+import com.smartnsoft.smartrecyclerview.adapter.SmartRecyclerAdapter.UpdateType
+import com.smartnsoft.smartrecyclerview.attributes.SmartRecyclerAttributes
+import com.smartnsoft.smartrecyclerview.wrapper.SmartRecyclerViewWrapper
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import java.util.*
+
+/**
+ * Checks that [SmartRecyclerAdapter.updateWrappers] behaves like its original implementation, which scanned the
+ * wrappers for every new wrapper, including when several wrappers share the same identifier.
+ *
+ * @since 2026.10.18
+ */
+@RunWith(RobolectricTestRunner::class)
+class SmartRecyclerAdapterUpdateWrappersTest {
+
+    /**
+     * A wrapper type distinct from [TestWrapper], with the same business object type.
+     */
+    private class OtherTestWrapper(identifier: Long) : TestWrapper(identifier)
+
+    /**
+     * A wrapper whose business object type is distinct from the one of [TestWrapper].
+     */
+    private class NumberWrapper(private val identifier: Long) : SmartRecyclerViewWrapper<Long>(identifier, 0) {
+
+        override fun getId(): Long =
+                identifier
+
+        override fun extractNewViewAttributes(context: Context, view: View, businessObjectClass: Long): SmartRecyclerAttributes<Long> =
+                throw UnsupportedOperationException()
+
+        override fun toString(): String =
+                "NumberWrapper($identifier)"
+
+    }
+
+    private class TestSmartRecyclerAdapter : SmartRecyclerAdapter(ContextWrapper(null), true) {
+
+        val currentWrappers: List<SmartRecyclerViewWrapper<*>>
+            get() = wrappers.toList()
+
+    }
+
+    /**
+     * The original implementation of [SmartRecyclerAdapter.updateWrappers] and of the methods it relied on, applied
+     * to a plain list, the notifications being recorded by the [observer].
+     */
+    private class LegacyModel(initialWrappers: List<SmartRecyclerViewWrapper<*>>) {
+
+        val wrappers = initialWrappers.toMutableList()
+
+        val observer = RecordingObserver()
+
+        fun updateWrappers(newWrappers: List<SmartRecyclerViewWrapper<*>>, removeType: UpdateType?,
+                           comparisonType: ComparisonType?) {
+            val newWrappersList = newWrappers.toMutableList()
+            when (removeType) {
+                UpdateType.REMOVE_OLD_DATA_AT_ONCE -> removeAll()
+                UpdateType.REMOVE_OLD_DATA_ONE_BY_ONE -> {
+                    for (wrapper in ArrayList(wrappers)) {
+                        removeItem(getItemPosition(wrapper.getId(), wrapper.businessObject?.javaClass, wrapper.javaClass,
+                                comparisonType))
+                    }
+                }
+                UpdateType.IGNORE_NEW_DUPLICATES -> {
+                    val wrappersToRemove = newWrappersList.filter {
+                        getItemPosition(it.getId(), it.businessObject?.javaClass, it.javaClass, comparisonType) != -1
+                    }
+                    newWrappersList.removeAll(wrappersToRemove)
+                }
+                UpdateType.REMOVE_OLD_DUPLICATES -> for (wrapper in newWrappersList) {
+                    val position = getItemPosition(wrapper.getId(), wrapper.businessObject?.javaClass, wrapper.javaClass, comparisonType)
+                    if (position != -1) {
+                        removeItem(position)
+                    }
+                }
+                UpdateType.REPLACE_DUPLICATES -> {
+                    val replacedWrappers = ArrayList<SmartRecyclerViewWrapper<*>>()
+                    for (wrapper in newWrappersList) {
+                        val position = getItemPosition(wrapper.getId(), wrapper.businessObject?.javaClass, wrapper.javaClass, comparisonType)
+                        if (position != -1) {
+                            wrappers[position] = wrapper
+                            observer.onItemRangeChanged(position, 1, null)
+                            replacedWrappers.add(wrapper)
+                        }
+                    }
+                    newWrappersList.removeAll(replacedWrappers)
+                }
+                else -> {
+                }
+            }
+            if (newWrappersList.isNotEmpty()) {
+                observer.onItemRangeInserted(wrappers.size, newWrappersList.size)
+                wrappers.addAll(newWrappersList)
+            }
+        }
+
+        private fun removeAll() {
+            val initialSize = wrappers.size
+            wrappers.clear()
+            observer.onItemRangeRemoved(0, initialSize)
+        }
+
+        private fun removeItem(position: Int) {
+            wrappers.removeAt(position)
+            observer.onItemRangeRemoved(position, 1)
+        }
+
+        private fun getItemPosition(businessObjectID: Long, businessObjectType: Class<*>?, wrapperType: Class<*>,
+                                    comparisonType: ComparisonType?): Int {
+            return wrappers.indexOfFirst {
+                businessObjectID == it.getId() && when (comparisonType) {
+                    ComparisonType.BUSINESS_OBJECT_TYPE -> businessObjectType == it.businessObject?.javaClass
+                    ComparisonType.WRAPPER_TYPE -> wrapperType == it.javaClass
+                    ComparisonType.BUSINESS_OBJECT_AND_WRAPPER_TYPE ->
+                        businessObjectType == it.businessObject?.javaClass && wrapperType == it.javaClass
+                    else -> true
+                }
+            }
+        }
+
+    }
+
+    @Test
+    fun updatingWithDuplicateIdentifiersBehavesLikeTheOriginalImplementation() {
+        val oldWrappers = listOf(TestWrapper(1), TestWrapper(2), OtherTestWrapper(1), TestWrapper(1), NumberWrapper(2),
+                TestWrapper(3), OtherTestWrapper(3), NumberWrapper(1), TestWrapper(2))
+        val newWrappers = listOf(TestWrapper(1), OtherTestWrapper(2), NumberWrapper(3), TestWrapper(4), TestWrapper(1),
+                NumberWrapper(1), OtherTestWrapper(3))
+        for (removeType in UpdateType.values().toList() + null) {
+            for (comparisonType in ComparisonType.values().toList() + null) {
+                assertSameUpdate(oldWrappers, newWrappers, removeType, comparisonType)
+            }
+        }
+    }
+
+    @Test
+    fun updatingRandomListsBehavesLikeTheOriginalImplementation() {
+        val random = Random(42)
+        repeat(200) {
+            val oldWrappers = randomWrappers(random)
+            val newWrappers = randomWrappers(random)
+            for (removeType in UpdateType.values()) {
+                for (comparisonType in ComparisonType.values()) {
+                    assertSameUpdate(oldWrappers, newWrappers, removeType, comparisonType)
+                }
+            }
+        }
+    }
+
+    private fun assertSameUpdate(oldWrappers: List<SmartRecyclerViewWrapper<*>>, newWrappers: List<SmartRecyclerViewWrapper<*>>,
+                                 removeType: UpdateType?, comparisonType: ComparisonType?) {
+        val message = "$removeType, $comparisonType, $oldWrappers + $newWrappers"
+        val legacyModel = LegacyModel(oldWrappers)
+        legacyModel.updateWrappers(newWrappers, removeType, comparisonType)
+        val adapter = TestSmartRecyclerAdapter()
+        adapter.setNewWrapperList(oldWrappers)
+        val observer = RecordingObserver()
+        adapter.registerAdapterDataObserver(observer)
+        adapter.updateWrappers(newWrappers, removeType, comparisonType)
+        assertEquals(message, legacyModel.wrappers.map { System.identityHashCode(it) },
+                adapter.currentWrappers.map { System.identityHashCode(it) })
+        // The notifications must keep, move and replace the same wrappers as the original ones did
+        val expectedReplay = ArrayList<SmartRecyclerViewWrapper<*>?>(oldWrappers)
+        legacyModel.observer.replay(expectedReplay, null)
+        val actualReplay = ArrayList<SmartRecyclerViewWrapper<*>?>(oldWrappers)
+        observer.replay(actualReplay, null)
+        assertEquals(message, expectedReplay, actualReplay)
+    }
+
+    private fun randomWrappers(random: Random): List<SmartRecyclerViewWrapper<*>> {
+        return List(random.nextInt(8)) {
+            val identifier = random.nextInt(4).toLong()
+            when (random.nextInt(3)) {
+                0 -> TestWrapper(identifier)
+                1 -> OtherTestWrapper(identifier)
+                else -> NumberWrapper(identifier)
+            }
+        }
+    }
+
+}
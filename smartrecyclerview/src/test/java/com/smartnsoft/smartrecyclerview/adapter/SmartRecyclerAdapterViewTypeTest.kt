@@ -0,0 +1,102 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.adapter
+
+import android.content.Context
+import android.content.ContextWrapper
+import android.view.View
+import android.view.ViewGroup
+import android.widget.FrameLayout
+import com.smartnsoft.smartrecyclerview.attributes.SmartRecyclerAttributes
+import com.smartnsoft.smartrecyclerview.wrapper.SmartViewFactory
+import com.smartnsoft.smartrecyclerview.wrapper.SmartViewTypeRegistry
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertSame
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+
+/**
+ * @since 2026.10.18
+ */
+@RunWith(RobolectricTestRunner::class)
+class SmartRecyclerAdapterViewTypeTest {
+
+    private class CreatorAttributes(view: View, val creatorId: Long) : SmartRecyclerAttributes<String>(view)
+
+    /**
+     * A wrapper whose views record the identifier of the wrapper which created them.
+     */
+    private open class ViewWrapper(identifier: Long) : TestWrapper(identifier) {
+
+        override fun getNewView(parent: ViewGroup, context: Context): View =
+                View(parent.context).also { it.tag = CreatorAttributes(it, identifier) }
+
+    }
+
+    private class OtherViewWrapper(identifier: Long) : ViewWrapper(identifier)
+
+    private class FactoryViewWrapper(identifier: Long) : ViewWrapper(identifier)
+
+    private class UnrequestedViewWrapper(identifier: Long) : ViewWrapper(identifier)
+
+    private val adapter = SmartRecyclerAdapter(ContextWrapper(null))
+
+    private val parent = FrameLayout(RuntimeEnvironment.application)
+
+    @Test
+    fun theViewsAreCreatedByTheWrapperWhoseViewTypeHasJustBeenRequested() {
+        adapter.setNewWrapperList(listOf(ViewWrapper(0), OtherViewWrapper(1), ViewWrapper(2), OtherViewWrapper(3)))
+        val viewType = adapter.getItemViewType(2)
+        val otherViewType = adapter.getItemViewType(3)
+        assertEquals(2L, (adapter.createViewHolder(parent, viewType) as CreatorAttributes).creatorId)
+        assertEquals(3L, (adapter.createViewHolder(parent, otherViewType) as CreatorAttributes).creatorId)
+    }
+
+    @Test
+    fun theRegisteredViewFactoryCreatesTheViewsWithoutAnyWrapper() {
+        val viewFactory = object : SmartViewFactory {
+            override fun createView(parent: ViewGroup, context: Context): View =
+                    View(parent.context).also { it.tag = CreatorAttributes(it, -1) }
+        }
+        SmartViewTypeRegistry.registerViewFactory(FactoryViewWrapper::class.java, viewFactory)
+        val viewType = SmartViewTypeRegistry.getViewType(FactoryViewWrapper::class.java)
+        assertSame(viewFactory, SmartViewTypeRegistry.getDescriptor(viewType).viewFactory)
+        assertEquals(-1L, (adapter.createViewHolder(parent, viewType) as CreatorAttributes).creatorId)
+    }
+
+    @Test(expected = IllegalStateException::class)
+    fun theViewsOfATypeWithoutFactoryNorRequestedPositionCannotBeCreated() {
+        adapter.setNewWrapperList(listOf(UnrequestedViewWrapper(0)))
+        adapter.createViewHolder(parent, SmartViewTypeRegistry.getViewType(UnrequestedViewWrapper::class.java))
+    }
+
+    @Test(expected = IllegalStateException::class)
+    fun theViewsOfARemovedWrapperAreNotCreatedByTheWrapperTakingItsPosition() {
+        adapter.setNewWrapperList(listOf(ViewWrapper(0)))
+        val viewType = adapter.getItemViewType(0)
+        adapter.setNewWrapperList(listOf(OtherViewWrapper(1)))
+        adapter.createViewHolder(parent, viewType)
+    }
+
+}
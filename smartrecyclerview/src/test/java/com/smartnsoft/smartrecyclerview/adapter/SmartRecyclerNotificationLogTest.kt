@@ -0,0 +1,161 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.adapter
+
+import android.content.ContextWrapper
+import com.smartnsoft.smartrecyclerview.adapter.RecordingObserver.Operation
+import com.smartnsoft.smartrecyclerview.adapter.RecordingObserver.Type
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import java.util.*
+
+/**
+ * @since 2026.10.18
+ */
+@RunWith(RobolectricTestRunner::class)
+class SmartRecyclerNotificationLogTest {
+
+    private val adapter = SmartRecyclerAdapter(ContextWrapper(null), true)
+
+    private val observer = RecordingObserver()
+
+    @Before
+    fun setUp() {
+        adapter.setNewWrapperList(List(20) { TestWrapper(it.toLong()) })
+        adapter.registerAdapterDataObserver(observer)
+    }
+
+    @Test
+    fun consecutiveInsertionsAreMerged() {
+        adapter.beginBatch {
+            addItem(5, TestWrapper(100))
+            addItem(6, TestWrapper(101))
+            addItem(5, TestWrapper(102))
+            addAll(8, listOf(TestWrapper(103), TestWrapper(104)))
+        }
+        assertEquals(listOf(Operation(Type.INSERT, 5, 5)), observer.operations)
+    }
+
+    @Test
+    fun consecutiveRemovalsAreMerged() {
+        adapter.beginBatch {
+            removeItem(4)
+            removeItem(4)
+            removeItem(3)
+        }
+        assertEquals(listOf(Operation(Type.REMOVE, 3, 3)), observer.operations)
+    }
+
+    @Test
+    fun adjacentChangesWithTheSamePayloadAreMerged() {
+        val payload = SmartRecyclerPayload.SELECTION
+        adapter.beginBatch {
+            set(2, TestWrapper(2), payload)
+            set(3, TestWrapper(3), payload)
+            set(1, TestWrapper(1), payload)
+            set(7, TestWrapper(7), null)
+        }
+        assertEquals(listOf(Operation(Type.CHANGE, 1, 3, payload), Operation(Type.CHANGE, 7, 1)), observer.operations)
+    }
+
+    @Test
+    fun editsOfInsertedItemsAreAbsorbed() {
+        adapter.beginBatch {
+            addAll(10, List(4) { TestWrapper(100L + it) })
+            set(11, TestWrapper(200), null)
+            removeItem(12)
+        }
+        assertEquals(listOf(Operation(Type.INSERT, 10, 3)), observer.operations)
+    }
+
+    @Test
+    fun aDataSetChangeReplacesTheRecordedOperations() {
+        adapter.beginBatch {
+            removeItem(0)
+            setNewWrapperList(List(5) { TestWrapper(it.toLong()) })
+            addItem(TestWrapper(100))
+        }
+        assertEquals(listOf(Operation(Type.DATA_SET_CHANGE, 0, 0)), observer.operations)
+    }
+
+    @Test
+    fun mergedOperationsAreEquivalentToTheRecordedOnes() {
+        val random = Random(5)
+        var nextIdentifier = 1_000L
+        repeat(500) {
+            val before = List(adapter.itemCount) { adapter.getItemId(it) }
+            val unmerged = RecordingObserver()
+            val expected = before.toMutableList()
+            adapter.beginBatch {
+                repeat(1 + random.nextInt(12)) {
+                    val size = itemCount
+                    when (random.nextInt(4)) {
+                        0 -> {
+                            val position = random.nextInt(size + 1)
+                            addItem(position, TestWrapper(nextIdentifier++))
+                            unmerged.onItemRangeInserted(position, 1)
+                        }
+                        1 -> if (size > 0) {
+                            val position = random.nextInt(size)
+                            removeItem(position)
+                            unmerged.onItemRangeRemoved(position, 1)
+                        }
+                        2 -> if (size > 0) {
+                            val position = random.nextInt(size)
+                            set(position, TestWrapper(nextIdentifier++), null)
+                            unmerged.onItemRangeChanged(position, 1, null)
+                        }
+                        else -> if (size > 1) {
+                            val fromPosition = random.nextInt(size)
+                            val toPosition = random.nextInt(size)
+                            moveWrapper(fromPosition, toPosition)
+                            if (fromPosition != toPosition) {
+                                unmerged.onItemRangeMoved(fromPosition, toPosition, 1)
+                            }
+                        }
+                    }
+                }
+            }
+            unmerged.replay(expected, NEW)
+            val actual = before.toMutableList()
+            observer.replay(actual, NEW)
+            assertEquals(expected, actual)
+            assertTrue(observer.operations.size <= unmerged.operations.size)
+            observer.clear()
+            if (adapter.itemCount > 60) {
+                adapter.setNewWrapperList(List(20) { TestWrapper(it.toLong()) })
+                observer.clear()
+            }
+        }
+    }
+
+    companion object {
+
+        private const val NEW = -1L
+
+    }
+
+}
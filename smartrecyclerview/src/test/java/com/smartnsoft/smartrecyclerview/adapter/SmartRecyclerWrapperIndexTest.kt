@@ -0,0 +1,164 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.adapter
+
+import android.content.ContextWrapper
+import com.smartnsoft.smartrecyclerview.wrapper.SmartRecyclerViewWrapper
+import com.smartnsoft.smartrecyclerview.wrapper.SmartSectionHeader
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import java.util.*
+
+/**
+ * @since 2026.10.18
+ */
+@RunWith(RobolectricTestRunner::class)
+class SmartRecyclerWrapperIndexTest {
+
+    private val adapter = SmartRecyclerAdapter(ContextWrapper(null))
+
+    @Test
+    fun lookupsMatchALinearScan() {
+        val random = Random(11)
+        val model = ArrayList<SmartRecyclerViewWrapper<*>>()
+        fun newWrapper(): TestWrapper {
+            val identifier = random.nextInt(150).toLong()
+            return if (random.nextInt(6) == 0) TestSectionHeader(identifier) else TestWrapper(identifier)
+        }
+        repeat(10_000) { step ->
+            val size = model.size
+            when (random.nextInt(7)) {
+                0, 1 -> {
+                    val position = random.nextInt(size + 1)
+                    val wrapper = newWrapper()
+                    adapter.addItem(position, wrapper)
+                    model.add(position, wrapper)
+                }
+                2 -> if (size > 0) {
+                    val position = random.nextInt(size)
+                    adapter.removeItem(position)
+                    model.removeAt(position)
+                }
+                3 -> if (size > 0) {
+                    val fromPosition = random.nextInt(size)
+                    val toPosition = random.nextInt(size)
+                    adapter.moveWrapper(fromPosition, toPosition)
+                    model.add(toPosition, model.removeAt(fromPosition))
+                }
+                4 -> if (size > 0) {
+                    val position = random.nextInt(size)
+                    val wrapper = newWrapper()
+                    adapter[position] = wrapper
+                    model[position] = wrapper
+                }
+                5 -> {
+                    val position = random.nextInt(size + 1)
+                    val wrappers = List(random.nextInt(5)) { newWrapper() }
+                    adapter.addAll(position, wrappers)
+                    model.addAll(position, wrappers)
+                }
+                else -> if (size > 1) {
+                    val fromPosition = random.nextInt(size)
+                    var toPosition = fromPosition
+                    adapter.beginReorder(fromPosition)
+                    repeat(3) {
+                        toPosition = random.nextInt(size)
+                        adapter.reorderTo(toPosition)
+                    }
+                    adapter.commitReorder()
+                    model.add(toPosition, model.removeAt(fromPosition))
+                }
+            }
+            if (step % 50 == 0) {
+                verify(model)
+            }
+            if (model.size > 400) {
+                adapter.removeAll()
+                model.clear()
+            }
+        }
+    }
+
+    @Test
+    fun typedLookupsMatchALinearScan() {
+        val wrappers = ArrayList<SmartRecyclerViewWrapper<*>>()
+        for (index in 0 until 60) {
+            wrappers.add(if (index % 3 == 0) TestSectionHeader(index % 20L) else TestWrapper(index % 20L))
+        }
+        adapter.setNewWrapperList(wrappers)
+        adapter.removeItem(4)
+        wrappers.removeAt(4)
+        for (identifier in 0L until 20L) {
+            for (wrapperType in listOf(TestWrapper::class.java, TestSectionHeader::class.java)) {
+                val expected = wrappers.indexOfFirst { it.getId() == identifier && it.javaClass == wrapperType }
+                assertEquals(expected, adapter.getItemPosition(identifier, String::class.java, wrapperType,
+                        SmartRecyclerAdapter.ComparisonType.WRAPPER_TYPE))
+            }
+        }
+    }
+
+    @Test
+    fun removingByIdentifierDoesNotIndexTheWrappersAgain() {
+        val count = 2_000
+        adapter.setNewWrapperList(List(count) { TestWrapper(it.toLong()) })
+        assertEquals(0, adapter.getItemPosition(0))
+        TestWrapper.getIdCallCount = 0
+        for (identifier in 0L until count) {
+            adapter.removeItem(adapter.getItemPosition(identifier))
+        }
+        assertEquals(0, adapter.itemCount)
+        assertEquals(0L, TestWrapper.getIdCallCount)
+    }
+
+    @Test
+    fun insertingAtTheHeadDoesNotIndexTheWrappersAgain() {
+        adapter.setNewWrapperList(List(2_000) { TestWrapper(it.toLong()) })
+        assertEquals(1_999, adapter.getItemPosition(1_999))
+        TestWrapper.getIdCallCount = 0
+        for (index in 0 until 500) {
+            adapter.addItem(0, TestSectionHeader(-1L - index))
+            assertEquals(index + 1 + 1_999, adapter.getItemPosition(1_999))
+            assertEquals(index + 1, adapter.getSectionCount())
+        }
+        assertTrue(TestWrapper.getIdCallCount <= 500)
+    }
+
+    private fun verify(model: List<SmartRecyclerViewWrapper<*>>) {
+        assertEquals(model.size, adapter.itemCount)
+        val identifiers = model.map { it.getId() }
+        for (identifier in 0L until 150L) {
+            assertEquals(identifiers.indexOf(identifier), adapter.getItemPosition(identifier))
+        }
+        val headers = model.indices.filter { model[it] is SmartSectionHeader }
+        assertEquals(headers.size, adapter.getSectionCount())
+        for (position in model.indices) {
+            assertEquals(headers.indexOfLast { it <= position }, adapter.getSectionForPosition(position))
+        }
+        for (section in headers.indices) {
+            assertEquals(headers[section], adapter.getPositionForSection(section))
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.adapter
+
+import android.content.ContextWrapper
+import com.smartnsoft.smartrecyclerview.adapter.RecordingObserver.Operation
+import com.smartnsoft.smartrecyclerview.adapter.RecordingObserver.Type
+import com.smartnsoft.smartrecyclerview.wrapper.SmartRecyclerViewWrapper
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import java.util.*
+
+/**
+ * @since 2026.10.18
+ */
+@RunWith(RobolectricTestRunner::class)
+class SmartReorderSessionTest {
+
+    @Test
+    fun theSessionMatchesTheWrappersMovedEagerly() {
+        val random = Random(5)
+        repeat(200) {
+            val size = 1 + random.nextInt(40)
+            val source: MutableList<SmartRecyclerViewWrapper<*>> = MutableList(size) { TestWrapper(it.toLong()) }
+            val model = ArrayList(source)
+            val session = SmartReorderSession(source, random.nextInt(size))
+            repeat(random.nextInt(20)) {
+                val position = random.nextInt(size)
+                model.add(position, model.removeAt(session.toPosition))
+                session.toPosition = position
+                assertEquals(ids(model), ids(session))
+            }
+            assertEquals(ids(model), ids(session.commit()))
+        }
+    }
+
+    @Test
+    fun theEditsRequestedDuringAReorderAreAppliedOnCommit() {
+        val adapter = SmartRecyclerAdapter(ContextWrapper(null), true)
+        adapter.setNewWrapperList(List(5) { TestWrapper(it.toLong()) })
+        val observer = RecordingObserver()
+        adapter.registerAdapterDataObserver(observer)
+        adapter.beginReorder(0)
+        adapter.reorderTo(3)
+        adapter.addItem(TestWrapper(5))
+        adapter.removeItem(1)
+        adapter[2] = TestWrapper(6)
+        adapter.moveWrapper(0, 1)
+        assertEquals(listOf(1L, 2L, 3L, 0L, 4L), ids(adapter))
+        assertEquals(1, observer.operations.size)
+        adapter.commitReorder()
+        assertFalse(adapter.isReorderInProgress)
+        assertEquals(listOf(3L, 1L, 6L, 4L, 5L), ids(adapter))
+        assertEquals(4, adapter.getItemPosition(5))
+        assertEquals(-1, adapter.getItemPosition(0))
+        val replayed = mutableListOf(0L, 1L, 2L, 3L, 4L)
+        observer.replay(replayed, -1L)
+        assertEquals(listOf(3L, 1L, -1L, 4L, -1L), replayed)
+    }
+
+    @Test
+    fun cancellingAReorderMovesTheWrapperBackThenAppliesTheEdits() {
+        val adapter = SmartRecyclerAdapter(ContextWrapper(null), true)
+        adapter.setNewWrapperList(List(5) { TestWrapper(it.toLong()) })
+        var isListenerNotified = false
+        adapter.onWrapperMovedListener = object : SmartRecyclerAdapter.OnWrapperMovedListener {
+            override fun onWrapperMoved(fromPosition: Int, toPosition: Int, id: Long) {
+                isListenerNotified = true
+            }
+        }
+        val observer = RecordingObserver()
+        adapter.registerAdapterDataObserver(observer)
+        adapter.beginReorder(4)
+        adapter.reorderTo(1)
+        adapter.setNewWrapperList(List(3) { TestWrapper(it + 10L) })
+        adapter.cancelReorder()
+        assertFalse(isListenerNotified)
+        assertEquals(listOf(10L, 11L, 12L), ids(adapter))
+        assertEquals(listOf(Operation(Type.MOVE, 4, 1), Operation(Type.MOVE, 1, 4), Operation(Type.DATA_SET_CHANGE, 0, 0)),
+                observer.operations)
+    }
+
+    private fun ids(wrappers: List<SmartRecyclerViewWrapper<*>>): List<Long> =
+            wrappers.map { it.getId() }
+
+    private fun ids(adapter: SmartRecyclerAdapter): List<Long> =
+            List(adapter.itemCount) { adapter.getItemId(it) }
+
+}
@@ -0,0 +1,157 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.adapter
+
+import android.content.ContextWrapper
+import android.os.Bundle
+import com.smartnsoft.smartrecyclerview.adapter.RecordingObserver.Operation
+import com.smartnsoft.smartrecyclerview.adapter.RecordingObserver.Type
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+/**
+ * @since 2026.10.18
+ */
+@RunWith(RobolectricTestRunner::class)
+class SmartSelectorRecyclerAdapterTest {
+
+    private val adapter = SmartSelectorRecyclerAdapter(ContextWrapper(null), true)
+
+    private val observer = RecordingObserver()
+
+    @Before
+    fun setUp() {
+        adapter.setNewWrapperList(List(10) { TestWrapper(it * 10L) })
+        adapter.registerAdapterDataObserver(observer)
+    }
+
+    @Test
+    fun togglingAnItemNotifiesItsPositionOnly() {
+        adapter.toggleItemSelectedState(30)
+        assertTrue(adapter.getItemSelectedState(30))
+        adapter.toggleItemSelectedState(30)
+        assertFalse(adapter.getItemSelectedState(30))
+        assertEquals(listOf(selectionChange(3, 1), selectionChange(3, 1)), observer.operations)
+    }
+
+    @Test
+    fun selectingAnItemTwiceIsNotifiedOnce() {
+        adapter.setItemSelectedState(20, true)
+        adapter.setItemSelectedState(20, true)
+        assertEquals(listOf(selectionChange(2, 1)), observer.operations)
+    }
+
+    @Test
+    fun selectingARangeCoalescesItsNotifications() {
+        adapter.setItemSelectedState(40, true)
+        observer.clear()
+        adapter.setRangeSelectedState(6, 2, true)
+        assertArrayEquals(longArrayOf(20, 30, 40, 50, 60), adapter.getSelectedItemIds())
+        assertEquals(listOf(selectionChange(2, 2), selectionChange(5, 2)), observer.operations)
+    }
+
+    @Test
+    fun selectingSeveralItemsCoalescesTheirNotifications() {
+        adapter.setItemsSelectedState(longArrayOf(10, 20, 30, 80, 1_000), true)
+        assertArrayEquals(longArrayOf(10, 20, 30, 80), adapter.getSelectedItemIds())
+        assertEquals(listOf(selectionChange(1, 3), selectionChange(8, 1)), observer.operations)
+    }
+
+    @Test
+    fun selectAllIncludesTheItemsAddedAfterwards() {
+        adapter.selectAll()
+        assertEquals(listOf(selectionChange(0, 10)), observer.operations)
+        adapter.setItemSelectedState(50, false)
+        adapter.addItem(TestWrapper(100))
+        assertTrue(adapter.getItemSelectedState(100))
+        assertArrayEquals(longArrayOf(0, 10, 20, 30, 40, 60, 70, 80, 90, 100), adapter.getSelectedItemIds())
+    }
+
+    @Test
+    fun clearSelectionDeselectsEveryItem() {
+        adapter.selectAll()
+        adapter.setItemSelectedState(50, false)
+        observer.clear()
+        adapter.clearSelection()
+        assertEquals(0, adapter.getSelectedItemIds().size)
+        assertFalse(adapter.getItemSelectedState(0))
+        assertEquals(listOf(selectionChange(0, 10)), observer.operations)
+    }
+
+    @Test
+    fun theSelectionFollowsTheIdentifiersAcrossNewWrapperLists() {
+        adapter.setItemsSelectedState(longArrayOf(20, 70), true)
+        adapter.setNewWrapperList(listOf(TestWrapper(70), TestWrapper(5), TestWrapper(20), TestWrapper(90)))
+        assertArrayEquals(longArrayOf(70, 20), adapter.getSelectedItemIds())
+        adapter.setNewWrapperList(listOf(TestWrapper(5)))
+        assertEquals(0, adapter.getSelectedItemIds().size)
+        adapter.setNewWrapperList(listOf(TestWrapper(20), TestWrapper(5)))
+        assertArrayEquals(longArrayOf(20), adapter.getSelectedItemIds())
+    }
+
+    @Test
+    fun theSelectionSurvivesASaveAndRestore() {
+        adapter.setItemsSelectedState(longArrayOf(0, 30, 90), true)
+        val restoredAdapter = saveAndRestore()
+        assertArrayEquals(longArrayOf(0, 30, 90), restoredAdapter.getSelectedItemIds())
+        assertFalse(restoredAdapter.getItemSelectedState(10))
+    }
+
+    @Test
+    fun anInvertedSelectionSurvivesASaveAndRestore() {
+        adapter.selectAll()
+        adapter.setItemsSelectedState(longArrayOf(10, 40), false)
+        val restoredAdapter = saveAndRestore()
+        assertArrayEquals(longArrayOf(0, 20, 30, 50, 60, 70, 80, 90), restoredAdapter.getSelectedItemIds())
+        assertTrue(restoredAdapter.getItemSelectedState(1_000))
+    }
+
+    @Test
+    fun restoringWithoutASavedSelectionKeepsTheCurrentOne() {
+        adapter.setItemSelectedState(20, true)
+        adapter.onRestoreInstanceState(null)
+        adapter.onRestoreInstanceState(Bundle())
+        assertArrayEquals(longArrayOf(20), adapter.getSelectedItemIds())
+    }
+
+    private fun saveAndRestore(): SmartSelectorRecyclerAdapter {
+        val state = Bundle()
+        adapter.onSaveInstanceState(state)
+        val restoredAdapter = SmartSelectorRecyclerAdapter(ContextWrapper(null), true)
+        restoredAdapter.setNewWrapperList(List(10) { TestWrapper(it * 10L) })
+        val restoredObserver = RecordingObserver()
+        restoredAdapter.registerAdapterDataObserver(restoredObserver)
+        restoredAdapter.onRestoreInstanceState(state)
+        assertEquals(listOf(selectionChange(0, 10)), restoredObserver.operations)
+        return restoredAdapter
+    }
+
+    private fun selectionChange(position: Int, count: Int): Operation =
+            Operation(Type.CHANGE, position, count, SmartRecyclerPayload.SELECTION)
+
+}
@@ -0,0 +1,118 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.adapter
+
+import android.content.Context
+import android.content.ContextWrapper
+import android.view.View
+import android.view.ViewGroup
+import androidx.recyclerview.widget.RecyclerView
+import com.smartnsoft.smartrecyclerview.attributes.SmartRecyclerAttributes
+import com.smartnsoft.smartrecyclerview.recyclerview.SmartRecycledViewPool
+import com.smartnsoft.smartrecyclerview.wrapper.SmartRecycledViewCapacity
+import com.smartnsoft.smartrecyclerview.wrapper.SmartViewFactory
+import com.smartnsoft.smartrecyclerview.wrapper.SmartViewTypeRegistry
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.robolectric.shadows.ShadowLooper
+
+/**
+ * @since 2026.10.18
+ */
+@RunWith(RobolectricTestRunner::class)
+class SmartViewPreInflaterTest {
+
+    /**
+     * A pool which records the maximums set on it.
+     */
+    private class RecordingViewPool : RecyclerView.RecycledViewPool() {
+
+        val maxRecycledViews = mutableListOf<Int>()
+
+        override fun setMaxRecycledViews(viewType: Int, max: Int) {
+            maxRecycledViews.add(max)
+            super.setMaxRecycledViews(viewType, max)
+        }
+
+    }
+
+    private class FirstPreInflatedWrapper(identifier: Long) : TestWrapper(identifier)
+
+    private class SecondPreInflatedWrapper(identifier: Long) : TestWrapper(identifier)
+
+    @SmartRecycledViewCapacity(20)
+    private class DeclaringPreInflatedWrapper(identifier: Long) : TestWrapper(identifier)
+
+    private val recyclerView = RecyclerView(RuntimeEnvironment.application)
+
+    private val recycledViewPool = RecordingViewPool()
+
+    private val adapter = SmartRecyclerAdapter(ContextWrapper(null))
+
+    init {
+        val viewFactory = object : SmartViewFactory {
+            override fun createView(parent: ViewGroup, context: Context): View =
+                    View(parent.context).also { it.tag = object : SmartRecyclerAttributes<String>(it) {} }
+        }
+        SmartViewTypeRegistry.registerViewFactory(FirstPreInflatedWrapper::class.java, viewFactory)
+        SmartViewTypeRegistry.registerViewFactory(SecondPreInflatedWrapper::class.java, viewFactory)
+        SmartViewTypeRegistry.registerViewFactory(DeclaringPreInflatedWrapper::class.java, viewFactory)
+        recyclerView.setRecycledViewPool(recycledViewPool)
+    }
+
+    @Test
+    fun theMaximumNumberOfRecycledViewsIsOnlyRaised() {
+        SmartViewPreInflater.preInflate(recyclerView, adapter, FirstPreInflatedWrapper::class.java, 8)
+        ShadowLooper.idleMainLooper()
+        SmartViewPreInflater.preInflate(recyclerView, adapter, FirstPreInflatedWrapper::class.java, 6)
+        ShadowLooper.idleMainLooper()
+        SmartViewPreInflater.preInflate(recyclerView, adapter, FirstPreInflatedWrapper::class.java, 12)
+        ShadowLooper.idleMainLooper()
+        assertEquals(listOf(8, 12), recycledViewPool.maxRecycledViews)
+    }
+
+    @Test
+    fun theDefaultMaximumNumberOfRecycledViewsIsNotLowered() {
+        SmartViewPreInflater.preInflate(recyclerView, adapter, SecondPreInflatedWrapper::class.java,
+                SmartViewPreInflater.DEFAULT_MAX_RECYCLED_VIEWS - 2)
+        ShadowLooper.idleMainLooper()
+        assertEquals(emptyList<Int>(), recycledViewPool.maxRecycledViews)
+    }
+
+    @Test
+    fun theMaximumOfASmartRecycledViewPoolIsOnlyRaised() {
+        val smartRecycledViewPool = SmartRecycledViewPool()
+        recyclerView.setRecycledViewPool(smartRecycledViewPool)
+        val viewType = SmartViewTypeRegistry.getViewType(DeclaringPreInflatedWrapper::class.java)
+        SmartViewPreInflater.preInflate(recyclerView, adapter, DeclaringPreInflatedWrapper::class.java, 12)
+        ShadowLooper.idleMainLooper()
+        assertEquals(20, smartRecycledViewPool.getMaxRecycledViews(viewType))
+        smartRecycledViewPool.setMaxRecycledViews(DeclaringPreInflatedWrapper::class.java, 4)
+        SmartViewPreInflater.preInflate(recyclerView, adapter, DeclaringPreInflatedWrapper::class.java, 16)
+        ShadowLooper.idleMainLooper()
+        assertEquals(16, smartRecycledViewPool.getMaxRecycledViews(viewType))
+    }
+
+}
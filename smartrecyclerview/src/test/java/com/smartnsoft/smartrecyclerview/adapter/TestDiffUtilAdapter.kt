@@ -0,0 +1,54 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.adapter
+
+import android.content.Context
+import com.smartnsoft.smartrecyclerview.adapter.SmartDiffCalculatorTest.TestDiffCallback
+import com.smartnsoft.smartrecyclerview.attributes.SmartRecyclerAttributes
+import com.smartnsoft.smartrecyclerview.wrapper.SmartRecyclerViewWrapper
+
+/**
+ * A [DiffUtilSmartRecyclerAdapter] of the tests, which only handles the [handledPayloads] itself, and records the
+ * payloads handed over to [onBindViewHolderCustom].
+ *
+ * @since 2026.10.18
+ */
+class TestDiffUtilAdapter(context: Context) : DiffUtilSmartRecyclerAdapter(context) {
+
+    val currentWrappers: List<SmartRecyclerViewWrapper<*>>
+        get() = wrappers
+
+    var handledPayloads: Set<Any> = emptySet()
+
+    val customBindPayloads = ArrayList<Any?>()
+
+    override fun onBindViewHolderCustom(holder: SmartRecyclerAttributes<*>?, position: Int, payload: Any?): Boolean {
+        customBindPayloads.add(payload)
+        return payload in handledPayloads
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    override fun <T : SmartDiffUtilCallback> getDiffUtilCallback(oldWrappers: List<SmartRecyclerViewWrapper<*>>,
+                                                                  newWrappers: List<SmartRecyclerViewWrapper<*>>): T =
+            TestDiffCallback(oldWrappers, newWrappers) as T
+
+}
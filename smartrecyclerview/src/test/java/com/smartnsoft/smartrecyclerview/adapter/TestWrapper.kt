@@ -0,0 +1,89 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.adapter
+
+import android.content.Context
+import android.view.View
+import com.smartnsoft.smartrecyclerview.attributes.SmartRecyclerAttributes
+import com.smartnsoft.smartrecyclerview.wrapper.SmartDiffUtil
+import com.smartnsoft.smartrecyclerview.wrapper.SmartFieldDiffUtil
+import com.smartnsoft.smartrecyclerview.wrapper.SmartRecyclerViewWrapper
+import com.smartnsoft.smartrecyclerview.wrapper.SmartSectionHeader
+
+/**
+ * A wrapper of the tests, identified by the given identifier, which counts the calls to [getId].
+ *
+ * @since 2026.10.18
+ */
+open class TestWrapper
+@JvmOverloads constructor(
+        val identifier: Long,
+        businessObject: String = "item $identifier"
+) : SmartRecyclerViewWrapper<String>(businessObject, 0) {
+
+    override fun getId(): Long {
+        getIdCallCount++
+        return identifier
+    }
+
+    override fun extractNewViewAttributes(context: Context, view: View, businessObjectClass: String): SmartRecyclerAttributes<String> =
+            throw UnsupportedOperationException()
+
+    override fun toString(): String =
+            "${javaClass.simpleName}($identifier, $businessObject)"
+
+    companion object {
+
+        var getIdCallCount = 0L
+
+    }
+
+}
+
+class TestSectionHeader(identifier: Long) : TestWrapper(identifier), SmartSectionHeader
+
+/**
+ * A wrapper of the tests whose content is summed up by the given version.
+ */
+class TestDiffWrapper(identifier: Long, val version: Long) : TestWrapper(identifier, "item $identifier v$version"), SmartDiffUtil {
+
+    override val diffUtilHashCode: Long
+        get() = version
+
+}
+
+/**
+ * A wrapper of the tests made of two fields, a title and a price.
+ */
+class TestFieldWrapper(identifier: Long, val title: String, val price: Int)
+    : TestWrapper(identifier, "$title $price"), SmartFieldDiffUtil {
+
+    override val diffUtilHashCode: Long
+        get() = 31L * title.hashCode() + price
+
+    override val diffUtilFieldCount: Int
+        get() = 2
+
+    override fun getDiffUtilFieldHashCode(fieldIndex: Int): Long =
+            if (fieldIndex == 0) title.hashCode().toLong() else price.toLong()
+
+}
@@ -0,0 +1,93 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.collection
+
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import java.util.*
+
+/**
+ * @since 2026.10.18
+ */
+class ChunkedListTest {
+
+    @Test
+    fun theListMatchesAnArrayList() {
+        val random = Random(3)
+        val list = ChunkedList<Int>(4)
+        val model = ArrayList<Int>()
+        repeat(50_000) { step ->
+            val size = model.size
+            when (random.nextInt(10)) {
+                0, 1, 2 -> {
+                    list.add(step)
+                    model.add(step)
+                }
+                3, 4 -> {
+                    val position = random.nextInt(size + 1)
+                    list.add(position, step)
+                    model.add(position, step)
+                }
+                5, 6 -> if (size > 0) {
+                    val position = random.nextInt(size)
+                    assertEquals(model.removeAt(position), list.removeAt(position))
+                }
+                7 -> if (size > 0) {
+                    val position = random.nextInt(size)
+                    assertEquals(model.set(position, -step), list.set(position, -step))
+                }
+                8 -> if (size > 0) {
+                    val position = random.nextInt(size)
+                    assertEquals(model[position], list[position])
+                }
+                else -> if (random.nextInt(500) == 0) {
+                    list.clear()
+                    model.clear()
+                }
+            }
+            assertEquals(model.size, list.size)
+            if (step % 1_000 == 0) {
+                assertEquals(model, list)
+            }
+        }
+        assertEquals(model, list)
+    }
+
+    @Test
+    fun appendedElementsAreFoundAgain() {
+        val list = ChunkedList<Int>(4)
+        repeat(10_000) { list.add(it) }
+        for (index in 9_999 downTo 0 step 7) {
+            assertEquals(index, list[index])
+        }
+        list.add(5_000, -1)
+        list.addAll(listOf(-2, -3))
+        assertEquals(-1, list[5_000])
+        assertEquals(5_000, list[5_001])
+        assertEquals(listOf(9_999, -2, -3), list.subList(10_000, 10_003))
+        repeat(10_003) { list.removeAt(list.size - 1) }
+        assertEquals(0, list.size)
+        list.add(1)
+        assertEquals(listOf(1), list)
+    }
+
+}
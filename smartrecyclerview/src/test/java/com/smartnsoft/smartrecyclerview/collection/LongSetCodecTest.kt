@@ -0,0 +1,91 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.collection
+
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.util.*
+
+/**
+ * @since 2026.10.18
+ */
+class LongSetCodecTest {
+
+    @Test
+    fun anEmptySetRoundTrips() {
+        assertRoundTrips(longArrayOf())
+    }
+
+    @Test
+    fun unsortedValuesAreDecodedSorted() {
+        assertArrayEquals(longArrayOf(-3, 1, 4, 15, 92), LongSetCodec.decode(LongSetCodec.encode(longArrayOf(15, 4, -3, 92, 1))))
+    }
+
+    @Test
+    fun extremeValuesRoundTrip() {
+        assertRoundTrips(longArrayOf(Long.MIN_VALUE))
+        assertRoundTrips(longArrayOf(Long.MAX_VALUE))
+        assertRoundTrips(longArrayOf(Long.MIN_VALUE, -1, 0, 1, Long.MAX_VALUE))
+        assertRoundTrips(longArrayOf(Long.MIN_VALUE, Long.MIN_VALUE + 1, Long.MAX_VALUE - 1, Long.MAX_VALUE))
+    }
+
+    @Test
+    fun sparseValuesRoundTrip() {
+        assertRoundTrips(LongArray(1_000) { it * 1_000_003L - 500_000_000L })
+        assertRoundTrips(longArrayOf(0, 1L shl 40, 1L shl 62))
+    }
+
+    @Test
+    fun denseValuesAreEncodedAsABitmap() {
+        val values = LongArray(10_000) { 1_000_000L + it * 2 }
+        val bytes = LongSetCodec.encode(values)
+        assertTrue("${bytes.size} bytes", bytes.size < values.size / 4 + 16)
+        assertArrayEquals(values, LongSetCodec.decode(bytes))
+    }
+
+    @Test
+    fun randomSetsRoundTrip() {
+        val random = Random(11)
+        repeat(500) {
+            val spread = when (random.nextInt(3)) {
+                0 -> 64L
+                1 -> 100_000L
+                else -> Long.MAX_VALUE
+            }
+            val values = TreeSet<Long>()
+            repeat(random.nextInt(200)) {
+                values.add(if (spread == Long.MAX_VALUE) random.nextLong() else random.nextLong() % spread)
+            }
+            assertRoundTrips(values.toLongArray())
+        }
+    }
+
+    private fun assertRoundTrips(sortedValues: LongArray) {
+        val shuffledValues = sortedValues.toMutableList().apply { Collections.shuffle(this, Random(sortedValues.size.toLong())) }
+        val decodedValues = LongSetCodec.decode(LongSetCodec.encode(shuffledValues.toLongArray()))
+        assertEquals(sortedValues.size, decodedValues.size)
+        assertArrayEquals(sortedValues, decodedValues)
+    }
+
+}
@@ -0,0 +1,115 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.collection
+
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import java.util.*
+
+/**
+ * @since 2026.10.18
+ */
+class SlotPositionListTest {
+
+    @Test
+    fun positionsFollowTheMutations() {
+        val random = Random(7)
+        val list = SlotPositionList(8)
+        val model = ArrayList<Int>()
+        val marked = HashSet<Int>()
+        repeat(20_000) { step ->
+            val size = model.size
+            when (random.nextInt(6)) {
+                0, 1 -> {
+                    val position = random.nextInt(size + 1)
+                    model.add(position, list.insert(position))
+                }
+                2 -> if (size > 0) {
+                    val position = random.nextInt(size)
+                    val slot = list.removeAt(position)
+                    assertEquals(model.removeAt(position), slot)
+                    marked.remove(slot)
+                }
+                3 -> if (size > 0) {
+                    val fromPosition = random.nextInt(size)
+                    val toPosition = random.nextInt(size)
+                    list.move(fromPosition, toPosition)
+                    model.add(toPosition, model.removeAt(fromPosition))
+                }
+                4 -> if (size > 0) {
+                    val slot = model[random.nextInt(size)]
+                    val isMarked = random.nextBoolean()
+                    list.setMarked(slot, isMarked)
+                    if (isMarked) marked.add(slot) else marked.remove(slot)
+                }
+                else -> if (size > 200) {
+                    list.clear()
+                    model.clear()
+                    marked.clear()
+                }
+            }
+            assertEquals(model.size, list.size)
+            assertEquals(marked.size, list.markedCount)
+            if (step % 100 == 0) {
+                verify(list, model, marked)
+            }
+        }
+        verify(list, model, marked)
+    }
+
+    @Test
+    fun appendsKeepTheSlotPositions() {
+        val list = SlotPositionList(4)
+        val slots = IntArray(1_000) { list.insert(it) }
+        for (position in slots.indices) {
+            assertEquals(position, list.positionOf(slots[position]))
+            assertEquals(slots[position], list.slotAt(position))
+        }
+    }
+
+    @Test
+    fun removedSlotsAreRecycled() {
+        val list = SlotPositionList()
+        val first = list.insert(0)
+        list.insert(1)
+        list.removeAt(0)
+        assertEquals(-1, list.positionOf(first))
+        assertEquals(first, list.insert(1))
+        assertEquals(1, list.positionOf(first))
+    }
+
+    private fun verify(list: SlotPositionList, model: List<Int>, marked: Set<Int>) {
+        var markedBefore = 0
+        for (position in model.indices) {
+            val slot = model[position]
+            assertEquals(slot, list.slotAt(position))
+            assertEquals(position, list.positionOf(slot))
+            assertEquals(markedBefore, list.markedCountBefore(position))
+            if (slot in marked) {
+                assertEquals(position, list.positionOfMarked(markedBefore))
+                markedBefore++
+            }
+        }
+        assertEquals(markedBefore, list.markedCountBefore(model.size))
+    }
+
+}
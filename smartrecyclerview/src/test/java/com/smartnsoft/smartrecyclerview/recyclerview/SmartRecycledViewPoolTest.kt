@@ -0,0 +1,69 @@
+// The MIT License (MIT)
+//
+// Copyright (c) 2017
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+package com.smartnsoft.smartrecyclerview.recyclerview
+
+import com.smartnsoft.smartrecyclerview.adapter.TestWrapper
+import com.smartnsoft.smartrecyclerview.wrapper.SmartRecycledViewCapacity
+import com.smartnsoft.smartrecyclerview.wrapper.SmartViewTypeRegistry
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+/**
+ * @since 2026.10.18
+ */
+@RunWith(RobolectricTestRunner::class)
+class SmartRecycledViewPoolTest {
+
+    @SmartRecycledViewCapacity(20)
+    private open class DeclaringWrapper(identifier: Long) : TestWrapper(identifier)
+
+    private class InheritingWrapper(identifier: Long) : DeclaringWrapper(identifier)
+
+    @SmartRecycledViewCapacity(3)
+    private class OverridingWrapper(identifier: Long) : DeclaringWrapper(identifier)
+
+    private class UndeclaringWrapper(identifier: Long) : TestWrapper(identifier)
+
+    private val recycledViewPool = SmartRecycledViewPool(7)
+
+    @Test
+    fun theCapacityDeclaredByAWrapperClassIsItsMaximum() {
+        assertEquals(20, recycledViewPool.getMaxRecycledViews(viewTypeOf(DeclaringWrapper::class.java)))
+        assertEquals(20, recycledViewPool.getMaxRecycledViews(viewTypeOf(InheritingWrapper::class.java)))
+        assertEquals(3, recycledViewPool.getMaxRecycledViews(viewTypeOf(OverridingWrapper::class.java)))
+        assertEquals(7, recycledViewPool.getMaxRecycledViews(viewTypeOf(UndeclaringWrapper::class.java)))
+    }
+
+    @Test
+    fun theMaximumSetOnThePoolOverridesTheDeclaredCapacity() {
+        recycledViewPool.setMaxRecycledViews(InheritingWrapper::class.java, 4)
+        assertEquals(4, recycledViewPool.getMaxRecycledViews(viewTypeOf(InheritingWrapper::class.java)))
+        assertEquals(20, recycledViewPool.getMaxRecycledViews(viewTypeOf(DeclaringWrapper::class.java)))
+        assertEquals(20, SmartRecycledViewPool().getMaxRecycledViews(viewTypeOf(InheritingWrapper::class.java)))
+    }
+
+    private fun viewTypeOf(wrapperClass: Class<out TestWrapper>): Int =
+            SmartViewTypeRegistry.getViewType(wrapperClass)
+
+}